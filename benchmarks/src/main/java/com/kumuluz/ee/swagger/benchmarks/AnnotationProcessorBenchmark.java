@@ -0,0 +1,56 @@
+package com.kumuluz.ee.swagger.benchmarks;
+
+import com.kumuluz.ee.swagger.processor.JaxRsSwaggerAnnotationProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AnnotationProcessorBenchmark class - measures compilation of an API with and without the Swagger annotation
+ * processor, the difference being the overhead added to the build.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AnnotationProcessorBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int resources;
+
+    private SyntheticApi api;
+    private final AtomicInteger compilation = new AtomicInteger();
+
+    @Setup
+    public void setup() throws IOException {
+        api = SyntheticApi.generate(resources);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        api.close();
+    }
+
+    @Benchmark
+    public boolean compileWithProcessor() throws IOException {
+        return api.compile(nextOutputDirectory(), Collections.singletonList(new JaxRsSwaggerAnnotationProcessor()));
+    }
+
+    @Benchmark
+    public boolean compileWithoutProcessor() throws IOException {
+        return api.compile(nextOutputDirectory(), Collections.emptyList());
+    }
+
+    private Path nextOutputDirectory() {
+        return api.getDirectory().resolve("compilation-" + compilation.incrementAndGet());
+    }
+}
@@ -0,0 +1,174 @@
+package com.kumuluz.ee.swagger.benchmarks;
+
+import com.kumuluz.ee.swagger.servlets.ApiListingServlet;
+import io.swagger.jaxrs.config.BeanConfig;
+import io.swagger.jaxrs.config.SwaggerContextService;
+import io.swagger.models.Info;
+import org.openjdk.jmh.annotations.*;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiListingServletBenchmark class - measures serving of the cached API specification by concurrent clients.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(8)
+public class ApiListingServletBenchmark {
+
+    @Param({"100"})
+    private int resources;
+
+    @Param({"json", "yaml"})
+    private String format;
+
+    @Param({"", "gzip"})
+    private String acceptEncoding;
+
+    private SyntheticApi api;
+    private ApiListingServlet servlet;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private ClassLoader originalClassLoader;
+
+    @Setup
+    public void setup() throws Exception {
+        api = SyntheticApi.generate(resources);
+        api.load();
+
+        originalClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(api.getClassLoader());
+
+        BeanConfig beanConfig = new BeanConfig();
+        beanConfig.setResourcePackage(SyntheticApi.PACKAGE);
+        beanConfig.setScannerId(SyntheticApi.APPLICATION_PATH);
+        beanConfig.setConfigId(SyntheticApi.APPLICATION_PATH);
+        beanConfig.setInfo(new Info().title("Synthetic").version("v1"));
+
+        new SwaggerContextService()
+                .withConfigId(beanConfig.getConfigId())
+                .withScannerId(beanConfig.getScannerId())
+                .withSwaggerConfig(beanConfig)
+                .withScanner(beanConfig)
+                .initConfig()
+                .initScanner();
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("swagger.scanner.id", SyntheticApi.APPLICATION_PATH);
+        parameters.put("swagger.config.id", SyntheticApi.APPLICATION_PATH);
+
+        ApiListingServlet.warmUp(parameters, Runnable::run).get();
+
+        servlet = new ApiListingServlet();
+        servlet.init(mock(ServletConfig.class, (name, args) -> {
+            switch (name) {
+                case "getInitParameter":
+                    return parameters.get((String) args[0]);
+                case "getInitParameterNames":
+                    return Collections.enumeration(parameters.keySet());
+                case "getServletName":
+                    return ApiListingServlet.class.getName();
+                default:
+                    return null;
+            }
+        }));
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept-Encoding", acceptEncoding);
+
+        request = mock(HttpServletRequest.class, (name, args) -> {
+            switch (name) {
+                case "getPathInfo":
+                    return "/swagger." + format;
+                case "getServletPath":
+                    return "/api-specs/" + SyntheticApi.APPLICATION_PATH;
+                case "getHeader":
+                    return headers.get((String) args[0]);
+                case "getDateHeader":
+                    return -1L;
+                default:
+                    return null;
+            }
+        });
+
+        ServletOutputStream outputStream = new NullServletOutputStream();
+
+        response = mock(HttpServletResponse.class, (name, args) -> {
+            if ("getOutputStream".equals(name)) {
+                return outputStream;
+            }
+
+            return null;
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Thread.currentThread().setContextClassLoader(originalClassLoader);
+        api.close();
+    }
+
+    @Benchmark
+    public void doGet() throws Exception {
+        servlet.doGet(request, response);
+    }
+
+    private interface Answer {
+        Object answer(String name, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T mock(Class<T> type, Answer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result = answer.answer(method.getName(), args);
+
+            if (result == null && method.getReturnType().isPrimitive()) {
+                if (method.getReturnType() == boolean.class) {
+                    return false;
+                } else if (method.getReturnType() == long.class) {
+                    return 0L;
+                } else if (method.getReturnType() == int.class) {
+                    return 0;
+                }
+            }
+
+            return result;
+        });
+    }
+
+    private static final class NullServletOutputStream extends ServletOutputStream {
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.kumuluz.ee.swagger.benchmarks;
+
+import com.kumuluz.ee.swagger.cache.RenderedSpecification;
+import com.kumuluz.ee.swagger.cache.SpecificationFormat;
+import io.swagger.jaxrs.Reader;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RenderBenchmark class - measures serialization of the API specification model to the supported formats.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int resources;
+
+    @Param({"json", "yaml", "smile", "cbor"})
+    private String format;
+
+    private SyntheticApi api;
+    private RenderedSpecification specification;
+    private SpecificationFormat specificationFormat;
+
+    @Setup
+    public void setup() throws Exception {
+        api = SyntheticApi.generate(resources);
+        Swagger swagger = new Reader(new Swagger()).read(api.load());
+
+        specification = RenderedSpecification.unrendered(swagger);
+        specificationFormat = SpecificationFormat.fromExtension(format);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        api.close();
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        specification.stream(specificationFormat, NullOutputStream.INSTANCE);
+    }
+
+    @Benchmark
+    public RenderedSpecification renderAll() throws IOException {
+        return RenderedSpecification.render(specification.getSwagger());
+    }
+
+    static final class NullOutputStream extends OutputStream {
+
+        static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.kumuluz.ee.swagger.benchmarks;
+
+import com.kumuluz.ee.swagger.scanner.IndexedBeanConfig;
+import com.kumuluz.ee.swagger.scanner.JandexBeanConfig;
+import io.swagger.jaxrs.Reader;
+import io.swagger.jaxrs.config.BeanConfig;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * ScanBenchmark class - measures resource scanning with reflection and with Jandex, reading of the build time resource
+ * index and reading of Swagger annotations for APIs of different sizes.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScanBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int resources;
+
+    private SyntheticApi api;
+    private Set<Class<?>> classes;
+    private ClassLoader originalClassLoader;
+
+    @Setup
+    public void setup() throws Exception {
+        api = SyntheticApi.generate(resources);
+        classes = api.load();
+
+        // index as generated by the annotation processor
+        Path index = api.getDirectory().resolve("classes")
+                .resolve(IndexedBeanConfig.getIndexResource(SyntheticApi.APPLICATION_PATH));
+        Files.createDirectories(index.getParent());
+        Files.write(index, classes.stream().map(Class::getName).sorted().collect(Collectors.toList()),
+                StandardCharsets.UTF_8);
+
+        originalClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(api.getClassLoader());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Thread.currentThread().setContextClassLoader(originalClassLoader);
+        api.close();
+    }
+
+    @Benchmark
+    public Set<Class<?>> scanClasses() {
+        BeanConfig beanConfig = new BeanConfig();
+        beanConfig.setResourcePackage(SyntheticApi.PACKAGE);
+
+        return beanConfig.classes();
+    }
+
+    @Benchmark
+    public Set<Class<?>> scanJandex() {
+        BeanConfig beanConfig = new JandexBeanConfig();
+        beanConfig.setResourcePackage(SyntheticApi.PACKAGE);
+
+        return beanConfig.classes();
+    }
+
+    @Benchmark
+    public Set<Class<?>> readIndex() {
+        BeanConfig beanConfig = new IndexedBeanConfig(
+                IndexedBeanConfig.getIndexResource(SyntheticApi.APPLICATION_PATH));
+        beanConfig.setResourcePackage(SyntheticApi.PACKAGE);
+
+        return beanConfig.classes();
+    }
+
+    @Benchmark
+    public Swagger readAnnotations() {
+        return new Reader(new Swagger()).read(classes);
+    }
+
+    @Benchmark
+    public Swagger scanAndRead() {
+        BeanConfig beanConfig = new BeanConfig();
+        beanConfig.setResourcePackage(SyntheticApi.PACKAGE);
+
+        return new Reader(new Swagger()).read(beanConfig.classes());
+    }
+}
@@ -0,0 +1,127 @@
+package com.kumuluz.ee.swagger.benchmarks;
+
+import com.kumuluz.ee.swagger.ui.filters.SwaggerUIFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * SwaggerUiFilterBenchmark class - measures routing of Swagger UI requests by the UI filter.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SwaggerUiFilterBenchmark {
+
+    // files of the Swagger UI distribution
+    private static final String[] ASSETS = {"index.html", "oauth2-redirect.html", "swagger-ui.css",
+            "swagger-ui.css.map", "swagger-ui.js", "swagger-ui.js.map", "swagger-ui-bundle.js",
+            "swagger-ui-bundle.js.map", "swagger-ui-standalone-preset.js", "swagger-ui-standalone-preset.js.map",
+            "favicon-16x16.png", "favicon-32x32.png"};
+
+    @Param({"asset", "index", "configured-index"})
+    private String target;
+
+    private Path directory;
+    private SwaggerUIFilter filter;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("swagger-ui-benchmark");
+        for (String asset : ASSETS) {
+            Files.write(directory.resolve(asset), asset.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("resourceBase", directory.toUri().toString());
+        parameters.put("url", "http://localhost:8080/api-specs/v1/swagger.json");
+        parameters.put("oauth2RedirectUrl", "http://localhost:8080/api-specs/ui/oauth2-redirect.html");
+        parameters.put("servlet", "");
+
+        ServletContext servletContext = mock(ServletContext.class, (name, args) -> null);
+
+        filter = new SwaggerUIFilter();
+        filter.init(mock(FilterConfig.class, (name, args) -> {
+            switch (name) {
+                case "getInitParameter":
+                    return parameters.get((String) args[0]);
+                case "getServletContext":
+                    return servletContext;
+                default:
+                    return null;
+            }
+        }));
+
+        String pathInfo = "asset".equals(target) ? "/swagger-ui-bundle.js" : "/";
+        String queryString = "configured-index".equals(target) ?
+                "url=http://localhost:8080/api-specs/v1/swagger.json" : null;
+
+        request = mock(HttpServletRequest.class, (name, args) -> {
+            switch (name) {
+                case "getServletPath":
+                    return "/api-specs/ui";
+                case "getPathInfo":
+                    return pathInfo;
+                case "getRequestURI":
+                    return "/api-specs/ui" + pathInfo;
+                case "getQueryString":
+                    return queryString;
+                default:
+                    return null;
+            }
+        });
+
+        response = mock(HttpServletResponse.class, (name, args) -> null);
+    }
+
+    @Setup(Level.Iteration)
+    public void setupChain(Blackhole blackhole) {
+        chain = (request, response) -> blackhole.consume(request);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void doFilter() throws Exception {
+        filter.doFilter(request, response, chain);
+    }
+
+    private interface Answer {
+        Object answer(String name, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T mock(Class<T> type, Answer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answer.answer(method.getName(), args));
+    }
+}
@@ -0,0 +1,165 @@
+package com.kumuluz.ee.swagger.benchmarks;
+
+import javax.annotation.processing.Processor;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * SyntheticApi class - generates and compiles a JAX-RS application with the given number of documented resources.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SyntheticApi implements Closeable {
+
+    public static final String PACKAGE = "com.kumuluz.ee.swagger.benchmarks.synthetic";
+    public static final String APPLICATION_PATH = "v1";
+
+    private final int resources;
+    private final Path directory;
+    private final List<File> sources = new ArrayList<>();
+    private URLClassLoader classLoader;
+
+    private SyntheticApi(int resources) throws IOException {
+        this.resources = resources;
+        this.directory = Files.createTempDirectory("kumuluzee-swagger-benchmark");
+    }
+
+    public static SyntheticApi generate(int resources) throws IOException {
+        SyntheticApi api = new SyntheticApi(resources);
+        Path packageDirectory = api.directory.resolve("src").resolve(PACKAGE.replace('.', File.separatorChar));
+        Files.createDirectories(packageDirectory);
+
+        api.sources.add(write(packageDirectory.resolve("SyntheticApplication.java"), "package " + PACKAGE + ";\n" +
+                "@io.swagger.annotations.SwaggerDefinition(info = @io.swagger.annotations.Info(title = \"Synthetic\", " +
+                "version = \"v1\"))\n" +
+                "@javax.ws.rs.ApplicationPath(\"" + APPLICATION_PATH + "\")\n" +
+                "public class SyntheticApplication extends javax.ws.rs.core.Application {}\n"));
+
+        for (int i = 0; i < resources; i++) {
+            api.sources.add(write(packageDirectory.resolve("Resource" + i + ".java"), resource(i)));
+        }
+
+        return api;
+    }
+
+    private static String resource(int i) {
+        return "package " + PACKAGE + ";\n" +
+                "import javax.ws.rs.*;\n" +
+                "import io.swagger.annotations.*;\n" +
+                "@Path(\"resource" + i + "\")\n" +
+                "@Api(tags = \"resource" + i + "\")\n" +
+                "@Produces(\"application/json\")\n" +
+                "public class Resource" + i + " {\n" +
+                "    public static class Entity" + i + " {\n" +
+                "        public String id;\n" +
+                "        public String name;\n" +
+                "        public int count;\n" +
+                "        public java.util.List<String> labels;\n" +
+                "    }\n" +
+                "    @GET\n" +
+                "    @ApiOperation(value = \"List entities\", response = Entity" + i + ".class, " +
+                "responseContainer = \"List\")\n" +
+                "    public java.util.List<Entity" + i + "> list(@QueryParam(\"offset\") int offset, " +
+                "@QueryParam(\"limit\") int limit) { return null; }\n" +
+                "    @GET\n" +
+                "    @Path(\"{id}\")\n" +
+                "    @ApiOperation(value = \"Get entity\", response = Entity" + i + ".class)\n" +
+                "    public Entity" + i + " get(@PathParam(\"id\") String id) { return null; }\n" +
+                "    @POST\n" +
+                "    @Consumes(\"application/json\")\n" +
+                "    @ApiOperation(value = \"Create entity\")\n" +
+                "    public void create(Entity" + i + " entity) {}\n" +
+                "}\n";
+    }
+
+    private static File write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    /**
+     * Compiles generated sources into the given directory with in-process javac, running only the given annotation
+     * processors.
+     */
+    public boolean compile(Path outputDirectory, Collection<? extends Processor> processors) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Java compiler not available, benchmarks must run on a JDK.");
+        }
+
+        Files.createDirectories(outputDirectory);
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+                StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(sources);
+            List<String> options = Arrays.asList("-d", outputDirectory.toString(),
+                    "-classpath", System.getProperty("java.class.path"));
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null,
+                    compilationUnits);
+
+            if (processors.isEmpty()) {
+                task.setProcessors(Collections.emptyList());
+            } else {
+                task.setProcessors(processors);
+            }
+
+            return task.call();
+        }
+    }
+
+    /**
+     * Compiles generated sources and loads resource classes in a dedicated class loader.
+     */
+    public Set<Class<?>> load() throws IOException, ClassNotFoundException {
+        Path classesDirectory = directory.resolve("classes");
+
+        if (!compile(classesDirectory, Collections.emptyList())) {
+            throw new IllegalStateException("Unable to compile synthetic API.");
+        }
+
+        classLoader = new URLClassLoader(new URL[]{classesDirectory.toUri().toURL()}, SyntheticApi.class.getClassLoader());
+
+        Set<Class<?>> classes = new HashSet<>();
+        for (int i = 0; i < resources; i++) {
+            classes.add(classLoader.loadClass(PACKAGE + ".Resource" + i));
+        }
+
+        return classes;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (classLoader != null) {
+            classLoader.close();
+        }
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -10,10 +10,18 @@ import com.kumuluz.ee.common.dependencies.EeExtensionDef;
 import com.kumuluz.ee.common.wrapper.KumuluzServerWrapper;
 import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
 import com.kumuluz.ee.jetty.JettyServletServer;
+import com.kumuluz.ee.swagger.cache.SpecificationDiskCache;
+import com.kumuluz.ee.swagger.cache.SpecificationFingerprint;
 import com.kumuluz.ee.swagger.models.SwaggerConfiguration;
+import com.kumuluz.ee.swagger.reload.SpecificationReloader;
+import com.kumuluz.ee.swagger.reload.SpecificationWatcher;
+import com.kumuluz.ee.swagger.scanner.IndexedBeanConfig;
+import com.kumuluz.ee.swagger.scanner.JandexBeanConfig;
 import com.kumuluz.ee.swagger.servlets.ApiListingServlet;
 import io.swagger.jaxrs.config.BeanConfig;
+import io.swagger.jaxrs.config.SwaggerContextService;
 import io.swagger.models.Scheme;
+import io.swagger.util.Json;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.ws.rs.ApplicationPath;
@@ -23,6 +31,11 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -38,6 +51,8 @@ public class SwaggerExtension implements Extension {
 
     private static final Logger LOG = Logger.getLogger(SwaggerExtension.class.getName());
 
+    private static final String JANDEX_CLASS = "org.jboss.jandex.IndexReader";
+
     @Override
     public void load() {
     }
@@ -57,119 +72,357 @@ public class SwaggerExtension implements Extension {
                 List<Application> applications = new ArrayList<>();
                 ServiceLoader.load(Application.class).forEach(applications::add);
 
+                if (applications.isEmpty()) {
+                    LOG.warning("No JAX-RS application found. Swagger definitions will not be served.");
+                    return;
+                }
+
                 ObjectMapper mapper = new ObjectMapper();
                 mapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
 
-                if (applications.size() == 1) {
-                    Application application = applications.get(0);
+                List<Runnable> scans = new ArrayList<>();
+                List<Map<String, String>> servletParameters = new ArrayList<>();
+                Set<String> applicationPaths = new HashSet<>();
 
-                    Class<?> applicationClass = application.getClass();
-                    if (targetClassIsProxied(applicationClass)) {
-                        applicationClass = applicationClass.getSuperclass();
+                SpecificationWatcher watcher = null;
+                if (configurationUtil.getBoolean("kumuluzee.swagger.reload.watch.enabled").orElse(false)) {
+                    try {
+                        watcher = new SpecificationWatcher(configurationUtil
+                                .getLong("kumuluzee.swagger.reload.watch.delay").orElse(500L));
+                    } catch (IOException e) {
+                        LOG.warning("Unable to watch for changes of API specification: " + e.getMessage());
                     }
+                }
 
-                    String applicationPath = "";
-                    ApplicationPath applicationPathAnnotation = applicationClass.getAnnotation(ApplicationPath.class);
+                for (Application application : applications) {
+                    Map<String, String> parameters = initApplication(application, applications.size() > 1,
+                            applicationPaths, server, eeConfig, configurationUtil, mapper, scans, watcher);
 
-                    if (applicationPathAnnotation != null) {
-                        applicationPath = applicationPathAnnotation.value();
+                    if (parameters != null) {
+                        servletParameters.add(parameters);
                     }
+                }
 
-                    applicationPath = StringUtils.strip(applicationPath, "/");
-
-                    InputStream is = null;
-                    if (applicationPath.equals("")) {
-                        is = getClass().getClassLoader().getResourceAsStream("api-specs/swagger-configuration.json");
-                    } else {
-                        is = getClass().getClassLoader().getResourceAsStream("api-specs/" + applicationPath +
-                                "/swagger-configuration.json");
+                // scans of independent applications run in parallel, bounded by the number of processors
+                int threads = Math.max(1, Math.min(scans.size(), Runtime.getRuntime().availableProcessors()));
+                AtomicInteger threadNumber = new AtomicInteger();
+                ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+                    Thread thread = new Thread(r, "kumuluzee-swagger-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+                try {
+                    List<Future<?>> futures = scans.stream().map(executor::submit).collect(Collectors.toList());
+
+                    for (Future<?> future : futures) {
+                        try {
+                            future.get();
+                        } catch (ExecutionException e) {
+                            LOG.warning("Unable to scan JAX-RS application resources: " + e.getCause().getMessage());
+                        }
                     }
 
-                    SwaggerConfiguration swaggerConfiguration = null;
-                    try {
-                        swaggerConfiguration = mapper.readValue(is, SwaggerConfiguration.class);
-                    } catch (IOException e) {
-                        LOG.warning("Unable to load swagger configuration. Swagger specification will not be served.");
-                        return;
+                    if (configurationUtil.getBoolean("kumuluzee.swagger.warmup.enabled").orElse(false)) {
+                        servletParameters.forEach(parameters -> ApiListingServlet.warmUp(parameters, executor));
                     }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    executor.shutdown();
+                }
 
-                    BeanConfig beanConfig = new BeanConfig();
+                if (watcher != null) {
+                    watcher.start();
+                }
 
-                    Map<String, String> parameters = new HashMap<>();
+                LOG.info("Swagger extension initialized.");
+            }
+        }
+    }
 
-                    URL baseUrl = null;
+    private Map<String, String> initApplication(Application application, boolean multipleApplications,
+                                                Set<String> applicationPaths, JettyServletServer server,
+                                                EeConfig eeConfig, ConfigurationUtil configurationUtil,
+                                                ObjectMapper mapper, List<Runnable> scans,
+                                                SpecificationWatcher watcher) {
+        Class<?> applicationClass = application.getClass();
+        if (targetClassIsProxied(applicationClass)) {
+            applicationClass = applicationClass.getSuperclass();
+        }
 
-                    try {
-                        Optional<String> swaggerBaseUrl = configurationUtil.get("kumuluzee.swagger.base-url");
-                        if (swaggerBaseUrl.isPresent()) {
-                            baseUrl = new URL(swaggerBaseUrl.get());
-                        } else {
-                            LOG.warning("kumuluzee.swagger.base-url not set. Trying kumuluzee.server.base-url.");
-                            baseUrl = new URL(eeConfig.getServer().getBaseUrl());
-                        }
+        String applicationPath = "";
+        ApplicationPath applicationPathAnnotation = applicationClass.getAnnotation(ApplicationPath.class);
 
-                        beanConfig.setSchemes(new String[]{baseUrl.getProtocol()});
+        if (applicationPathAnnotation != null) {
+            applicationPath = applicationPathAnnotation.value();
+        }
 
-                        if (baseUrl.getPort() == 80 || baseUrl.getPort() == 443 || baseUrl.getPort() == -1) {
-                            beanConfig.setHost(baseUrl.getHost());
-                        } else {
-                            beanConfig.setHost(baseUrl.getHost() + ":" + baseUrl.getPort());
-                        }
+        applicationPath = StringUtils.strip(applicationPath, "/");
 
-                        beanConfig.setBasePath(baseUrl.getPath());
+        if (!applicationPaths.add(applicationPath)) {
+            LOG.warning("Multiple JAX-RS applications with path '" + applicationPath + "'. Swagger specification " +
+                    "will only be served for the first one.");
+            return null;
+        }
 
-                    } catch (MalformedURLException e) {
-                        LOG.warning("Provided URL not valid. Check the value of kumuluzee.swagger.base-url or kumuluzee.server.base-url.");
-                    }
+        SwaggerConfiguration swaggerConfiguration = loadConfiguration(applicationClass, applicationPath, mapper);
 
-                    if (beanConfig.getSchemes() == null || beanConfig.getSchemes().length == 0) {
-                        beanConfig.setSchemes(swaggerConfiguration.getSwagger().getSchemes().stream().map(Scheme::toValue).toArray
-                                (String[]::new));
-                    }
-                    if (beanConfig.getHost() == null || beanConfig.getHost().length() == 0) {
-                        beanConfig.setHost(swaggerConfiguration.getSwagger().getHost());
-                    }
-                    if (beanConfig.getBasePath() == null || beanConfig.getBasePath().length() == 0) {
-                        beanConfig.setBasePath(swaggerConfiguration.getSwagger().getBasePath());
-                    }
+        if (swaggerConfiguration == null) {
+            return null;
+        }
 
-                    if (applications.size() == 1) {
-                        beanConfig.setResourcePackage(swaggerConfiguration.getResourcePackagesAsString());
-                    } else {
+        // resource classes listed by the annotation processor are read without scanning resource packages. Index is
+        // opt-in, as it only lists classes compiled with the processor, not e.g. resources from dependencies
+        String resourceIndex = IndexedBeanConfig.getIndexResource(applicationPath);
+        BeanConfig beanConfig;
+
+        if (configurationUtil.getBoolean("kumuluzee.swagger.resource-index.enabled").orElse(false) &&
+                getClass().getClassLoader().getResource(resourceIndex) != null) {
+            LOG.fine("Using resource index " + resourceIndex + ".");
+            beanConfig = new IndexedBeanConfig(resourceIndex);
+        } else if (configurationUtil.getBoolean("kumuluzee.swagger.jandex.enabled").orElse(false)) {
+            // JandexBeanConfig can only be initialized when Jandex is present
+            if (isJandexAvailable()) {
+                beanConfig = new JandexBeanConfig();
+            } else {
+                LOG.warning("Jandex not found, resource packages will be scanned with reflection.");
+                beanConfig = new BeanConfig();
+            }
+        } else {
+            beanConfig = new BeanConfig();
+        }
 
-                        Set<Class<?>> resources = application.getClasses();
-                        Set<String> resourcePackages = resources.stream().map(r -> r.getPackage().getName()).collect(Collectors
-                                .toSet());
+        Map<String, String> parameters = new HashMap<>();
 
-                        String packages = StringUtils.join(resourcePackages, ",");
+        URL baseUrl = null;
 
-                        beanConfig.setResourcePackage(packages);
-                    }
+        try {
+            Optional<String> swaggerBaseUrl = configurationUtil.get("kumuluzee.swagger.base-url");
+            if (swaggerBaseUrl.isPresent()) {
+                baseUrl = new URL(swaggerBaseUrl.get());
+            } else {
+                LOG.warning("kumuluzee.swagger.base-url not set. Trying kumuluzee.server.base-url.");
+                baseUrl = new URL(eeConfig.getServer().getBaseUrl());
+            }
 
-                    beanConfig.getSwagger().setInfo(swaggerConfiguration.getSwagger().getInfo());
-                    beanConfig.setScannerId(applicationPath);
-                    beanConfig.setPrettyPrint(true);
-                    beanConfig.setConfigId(applicationPath);
-                    parameters.put("swagger.scanner.id", applicationPath);
-                    parameters.put("swagger.config.id", applicationPath);
-                    beanConfig.setScan(true);
-
-                    if (applicationPath.equals("")) {
-                        server.registerServlet(ApiListingServlet.class, "/api-specs/*", parameters, 1);
-                    } else {
-                        server.registerServlet(ApiListingServlet.class, "/api-specs/" + applicationPath + "/*", parameters, 1);
-                    }
+            beanConfig.setSchemes(new String[]{baseUrl.getProtocol()});
+
+            if (baseUrl.getPort() == 80 || baseUrl.getPort() == 443 || baseUrl.getPort() == -1) {
+                beanConfig.setHost(baseUrl.getHost());
+            } else {
+                beanConfig.setHost(baseUrl.getHost() + ":" + baseUrl.getPort());
+            }
+
+            beanConfig.setBasePath(baseUrl.getPath());
+
+        } catch (MalformedURLException e) {
+            LOG.warning("Provided URL not valid. Check the value of kumuluzee.swagger.base-url or kumuluzee.server.base-url.");
+        }
+
+        if (beanConfig.getSchemes() == null || beanConfig.getSchemes().length == 0) {
+            beanConfig.setSchemes(swaggerConfiguration.getSwagger().getSchemes().stream().map(Scheme::toValue).toArray
+                    (String[]::new));
+        }
+        if (beanConfig.getHost() == null || beanConfig.getHost().length() == 0) {
+            beanConfig.setHost(swaggerConfiguration.getSwagger().getHost());
+        }
+        if (beanConfig.getBasePath() == null || beanConfig.getBasePath().length() == 0) {
+            beanConfig.setBasePath(swaggerConfiguration.getSwagger().getBasePath());
+        }
 
-                    LOG.info("Swagger extension initialized.");
+        // resources listed by the application take precedence over the ones attributed to it at build time
+        Set<Class<?>> resources = new HashSet<>(application.getClasses());
+        application.getSingletons().forEach(singleton -> resources.add(singleton.getClass()));
 
-                } else {
-                    LOG.warning("Multiple JAX-RS applications not supported. Swagger definitions will not be served.");
+        boolean packagesFromConfiguration = !multipleApplications || resources.isEmpty();
+
+        if (packagesFromConfiguration) {
+            beanConfig.setResourcePackage(swaggerConfiguration.getResourcePackagesAsString());
+        } else {
+
+            Set<String> resourcePackages = resources.stream().map(r -> r.getPackage().getName()).collect(Collectors
+                    .toSet());
+
+            String packages = StringUtils.join(resourcePackages, ",");
+
+            beanConfig.setResourcePackage(packages);
+        }
+
+        beanConfig.getSwagger().setInfo(swaggerConfiguration.getSwagger().getInfo());
+        beanConfig.setScannerId(applicationPath);
+        beanConfig.setPrettyPrint(configurationUtil.getBoolean("kumuluzee.swagger.pretty-print").orElse(true));
+        beanConfig.setConfigId(applicationPath);
+        parameters.put("swagger.scanner.id", applicationPath);
+        parameters.put("swagger.config.id", applicationPath);
+
+        String prebuiltSpecification = applicationPath.equals("") ? "api-specs/swagger.json" :
+                "api-specs/" + applicationPath + "/swagger.json";
+
+        // registers configuration and scanner without scanning resources
+        Runnable register = () -> new SwaggerContextService()
+                .withConfigId(beanConfig.getConfigId())
+                .withScannerId(beanConfig.getScannerId())
+                .withSwaggerConfig(beanConfig)
+                .withScanner(beanConfig)
+                .withBasePath(beanConfig.getBasePath())
+                .initConfig()
+                .initScanner();
+
+        SpecificationDiskCache diskCache = configurationUtil.getBoolean("kumuluzee.swagger.cache.enabled")
+                .orElse(true) ? SpecificationDiskCache.getInstance() : null;
+
+        // scans and reconfiguration on reload are serialized on the bean config, see ApiListingServlet
+        Runnable scan = () -> {
+            synchronized (beanConfig) {
+                beanConfig.setScan(true);
+            }
+        };
+        if (configurationUtil.getBoolean("kumuluzee.swagger.low-memory.enabled").orElse(false)) {
+            // scanner does not keep its own copy of the specification, resources are only read when it is rendered
+            beanConfig.setInfo(swaggerConfiguration.getSwagger().getInfo());
+            scan = register;
+        }
+
+        // prebuilt specification is not verified against the resources, stale one would be served unnoticed
+        if (configurationUtil.getBoolean("kumuluzee.swagger.prebuilt.enabled").orElse(false) &&
+                getClass().getClassLoader().getResource(prebuiltSpecification) != null) {
+
+            LOG.info("Using prebuilt Swagger specification " + prebuiltSpecification + ".");
+
+            // specification is already generated
+            beanConfig.setInfo(swaggerConfiguration.getSwagger().getInfo());
+            scans.add(register);
+
+            parameters.put(ApiListingServlet.PREBUILT_SPECIFICATION_PARAM, prebuiltSpecification);
+        } else if (diskCache != null) {
+            String fingerprint = getFingerprint(applicationPath, resourceIndex, beanConfig, configurationUtil);
+
+            if (fingerprint != null) {
+                parameters.put(ApiListingServlet.FINGERPRINT_PARAM, fingerprint);
+            }
+
+            if (fingerprint != null &&
+                    diskCache.contains(ApiListingServlet.getSpecificationKey(applicationPath), fingerprint)) {
+                LOG.info("Using cached Swagger specification " + fingerprint + ".");
+
+                beanConfig.setInfo(swaggerConfiguration.getSwagger().getInfo());
+                scans.add(register);
+            } else {
+                scans.add(scan);
+            }
+        } else {
+            scans.add(scan);
+        }
+
+        if (configurationUtil.getBoolean("kumuluzee.swagger.reload.enabled").orElse(false) || watcher != null) {
+            Class<?> configuredClass = applicationClass;
+            String configuredPath = applicationPath;
+
+            // configuration is re-read on reload, scanner and config keep their ids
+            SpecificationReloader.getInstance().register(applicationPath, parameters, () -> {
+                SwaggerConfiguration configuration = loadConfiguration(configuredClass, configuredPath, mapper);
+
+                if (configuration != null) {
+                    synchronized (beanConfig) {
+                        beanConfig.setInfo(configuration.getSwagger().getInfo());
+                        if (packagesFromConfiguration) {
+                            beanConfig.setResourcePackage(configuration.getResourcePackagesAsString());
+                        }
+                    }
                 }
+            });
+
+            if (watcher != null) {
+                List<String> watched = new ArrayList<>();
+                watched.add(applicationPath.equals("") ? "api-specs" : "api-specs/" + applicationPath);
+                for (String resourcePackage : beanConfig.getResourcePackage().split(",")) {
+                    if (!resourcePackage.trim().isEmpty()) {
+                        watched.add(resourcePackage.trim().replace('.', '/'));
+                    }
+                }
+
+                watcher.watch(applicationPath, watched);
+            }
+        }
+
+        if (applicationPath.equals("")) {
+            server.registerServlet(ApiListingServlet.class, "/api-specs/*", parameters, 1);
+        } else {
+            server.registerServlet(ApiListingServlet.class, "/api-specs/" + applicationPath + "/*", parameters, 1);
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Returns fingerprint of everything the specification of the application is generated from or null, if it can
+     * not be computed.
+     */
+    private String getFingerprint(String applicationPath, String resourceIndex, BeanConfig beanConfig,
+                                  ConfigurationUtil configurationUtil) {
+        long start = System.currentTimeMillis();
+        ClassLoader classLoader = getClass().getClassLoader();
+        String configuration = applicationPath.equals("") ? "api-specs/swagger-configuration.json" :
+                "api-specs/" + applicationPath + "/swagger-configuration.json";
+
+        try {
+            String fingerprint = new SpecificationFingerprint()
+                    .addClassPath(Thread.currentThread().getContextClassLoader())
+                    .addResource(classLoader, configuration)
+                    .addResource(classLoader, resourceIndex)
+                    .add(beanConfig.getClass().getName())
+                    .add(beanConfig.getResourcePackage())
+                    .add(beanConfig.getHost())
+                    .add(beanConfig.getBasePath())
+                    .add(Arrays.toString(beanConfig.getSchemes()))
+                    .add(Json.mapper().writeValueAsString(beanConfig.getSwagger().getInfo()))
+                    .add(String.valueOf(beanConfig.getPrettyPrint()))
+                    .add(String.valueOf(configurationUtil.getBoolean("kumuluzee.swagger.prune-definitions")
+                            .orElse(false)))
+                    .get();
+
+            LOG.fine("Computed Swagger specification fingerprint in " + (System.currentTimeMillis() - start) +
+                    " ms.");
+
+            return fingerprint;
+        } catch (IOException e) {
+            LOG.warning("Unable to compute fingerprint of Swagger specification, it will not be cached: " +
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private SwaggerConfiguration loadConfiguration(Class<?> applicationClass, String applicationPath,
+                                                   ObjectMapper mapper) {
+        String resource = applicationPath.equals("") ? "api-specs/swagger-configuration.json" :
+                "api-specs/" + applicationPath + "/swagger-configuration.json";
+
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(resource)) {
+            if (is == null) {
+                LOG.warning("Swagger configuration for " + applicationClass.getName() + " not found. Swagger " +
+                        "specification will not be served.");
+                return null;
             }
+
+            return mapper.readValue(is, SwaggerConfiguration.class);
+        } catch (IOException e) {
+            LOG.warning("Unable to load swagger configuration for " + applicationClass.getName() + ". Swagger " +
+                    "specification will not be served.");
+            return null;
         }
     }
 
     private boolean targetClassIsProxied(Class targetClass) {
         return targetClass.getCanonicalName().contains("$Proxy");
     }
+
+    private static boolean isJandexAvailable() {
+        try {
+            Class.forName(JANDEX_CLASS, false, SwaggerExtension.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,347 @@
+package com.kumuluz.ee.swagger.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.kumuluz.ee.swagger.index.SpecificationIndex;
+import com.kumuluz.ee.swagger.utils.ContentUtil;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * RenderedSpecification class - immutable snapshot of the API specification serialized to all supported formats.
+ * Specification is rendered either indented or compact by default, the other variant is rendered on first request.
+ * When rendering is disabled, only the specification model is held and serialized on each request. Views derived
+ * from the specification are cached alongside it. Specification restored from its serialized form or detached from
+ * its model materializes the model when it is needed and holds it, together with its index, softly, so that it is
+ * released again under memory pressure.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class RenderedSpecification {
+
+    private static final Map<SpecificationFormat, ObjectWriter> PRETTY_WRITERS =
+            new EnumMap<>(SpecificationFormat.class);
+    private static final Map<SpecificationFormat, ObjectWriter> COMPACT_WRITERS =
+            new EnumMap<>(SpecificationFormat.class);
+
+    static {
+        PRETTY_WRITERS.put(SpecificationFormat.JSON, Json.mapper().writer(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+        COMPACT_WRITERS.put(SpecificationFormat.JSON, Json.mapper().writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+
+        // YAML is always indented
+        ObjectWriter yamlWriter = Yaml.mapper().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        PRETTY_WRITERS.put(SpecificationFormat.YAML, yamlWriter);
+        COMPACT_WRITERS.put(SpecificationFormat.YAML, yamlWriter);
+
+        // binary formats write JSON tree of the specification, see getValue()
+        ObjectWriter smileWriter = new ObjectMapper(new SmileFactory()).writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        PRETTY_WRITERS.put(SpecificationFormat.SMILE, smileWriter);
+        COMPACT_WRITERS.put(SpecificationFormat.SMILE, smileWriter);
+
+        ObjectWriter cborWriter = new ObjectMapper(new CBORFactory()).writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        PRETTY_WRITERS.put(SpecificationFormat.CBOR, cborWriter);
+        COMPACT_WRITERS.put(SpecificationFormat.CBOR, cborWriter);
+    }
+
+    private final Callable<Swagger> model;
+    private final Swagger swagger;
+    private volatile SoftReference<Swagger> materializedSwagger;
+    private volatile SoftReference<SpecificationIndex> materializedIndex;
+    private final boolean rendered;
+    private final boolean prettyPrint;
+    private final ConcurrentMap<SpecificationFormat, SpecificationContent> prettyContents = new ConcurrentHashMap<>();
+    private final ConcurrentMap<SpecificationFormat, SpecificationContent> compactContents =
+            new ConcurrentHashMap<>();
+    private final long lastModified;
+    private volatile SpecificationViews views;
+    private volatile SpecificationIndex index;
+    private volatile String digest;
+    private volatile long generation;
+
+    private RenderedSpecification(Swagger swagger, boolean rendered, boolean prettyPrint, SpecificationIndex index) {
+        this(null, swagger, rendered, prettyPrint, index, System.currentTimeMillis());
+    }
+
+    private RenderedSpecification(Callable<Swagger> model, Swagger swagger, boolean rendered, boolean prettyPrint,
+                                  SpecificationIndex index, long lastModified) {
+        this.model = model;
+        this.swagger = swagger;
+        this.rendered = rendered;
+        this.prettyPrint = prettyPrint;
+        this.index = index;
+        // HTTP dates have a resolution of one second
+        this.lastModified = lastModified / 1000 * 1000;
+    }
+
+    public static RenderedSpecification render(Swagger swagger) throws JsonProcessingException {
+        return render(swagger, null, true);
+    }
+
+    public static RenderedSpecification render(Swagger swagger, boolean prettyPrint) throws JsonProcessingException {
+        return render(swagger, null, prettyPrint);
+    }
+
+    /**
+     * Renders the specification, reusing an already built index of it.
+     *
+     * @param prettyPrint whether the specification is rendered indented or compact upfront
+     */
+    public static RenderedSpecification render(Swagger swagger, SpecificationIndex index, boolean prettyPrint)
+            throws JsonProcessingException {
+        RenderedSpecification specification = new RenderedSpecification(swagger, true, prettyPrint, index);
+
+        for (SpecificationFormat format : SpecificationFormat.values()) {
+            specification.getContent(format, prettyPrint);
+        }
+
+        return specification;
+    }
+
+    /**
+     * Returns specification which holds only the contents rendered in the default variant, without the model and
+     * index of this specification. The model is materialized from the JSON content when it is needed.
+     *
+     * @param direct whether contents are copied to buffers outside of the heap
+     */
+    public RenderedSpecification detach(boolean direct) throws JsonProcessingException {
+        Map<SpecificationFormat, SpecificationContent> contents = new EnumMap<>(SpecificationFormat.class);
+
+        for (SpecificationFormat format : SpecificationFormat.values()) {
+            SpecificationContent content = getContent(format, prettyPrint);
+            contents.put(format, direct ? content.toDirect() : content);
+        }
+
+        SpecificationContent json = contents.get(SpecificationFormat.JSON);
+        RenderedSpecification detached = restore(contents, prettyPrint, () -> {
+            try (InputStream is = new ByteBufferBackedInputStream(json.getBuffer())) {
+                return Json.mapper().readValue(is, Swagger.class);
+            }
+        }, lastModified);
+        detached.generation = generation;
+
+        return detached;
+    }
+
+    public static RenderedSpecification unrendered(Swagger swagger) {
+        return unrendered(swagger, null);
+    }
+
+    public static RenderedSpecification unrendered(Swagger swagger, SpecificationIndex index) {
+        return new RenderedSpecification(swagger, false, true, index);
+    }
+
+    /**
+     * Restores specification rendered in the default variant from its contents, without the specification model.
+     *
+     * @param model materializes the specification model when it is first needed
+     */
+    public static RenderedSpecification restore(Map<SpecificationFormat, SpecificationContent> contents,
+                                                boolean prettyPrint, Callable<Swagger> model, long lastModified) {
+        RenderedSpecification specification = new RenderedSpecification(model, null, true, prettyPrint, null,
+                lastModified);
+        (prettyPrint ? specification.prettyContents : specification.compactContents).putAll(contents);
+
+        return specification;
+    }
+
+    /**
+     * Returns pre-rendered content in the given format in the default variant or null, if the specification was not
+     * rendered.
+     */
+    public SpecificationContent getContent(SpecificationFormat format) {
+        return rendered ? (prettyPrint ? prettyContents : compactContents).get(format) : null;
+    }
+
+    /**
+     * Returns rendered content in the given format and variant or null, if the specification was not rendered. The
+     * variant which was not rendered upfront is rendered once, on first request.
+     */
+    public SpecificationContent getContent(SpecificationFormat format, boolean pretty)
+            throws JsonProcessingException {
+        if (!rendered) {
+            return null;
+        }
+
+        if (PRETTY_WRITERS.get(format) == COMPACT_WRITERS.get(format)) {
+            // single variant only
+            pretty = prettyPrint;
+        }
+
+        ConcurrentMap<SpecificationFormat, SpecificationContent> contents = pretty ? prettyContents : compactContents;
+        SpecificationContent content = contents.get(format);
+
+        if (content == null) {
+            content = new SpecificationContent(getWriter(format, pretty).writeValueAsBytes(getValue(format)));
+
+            SpecificationContent existing = contents.putIfAbsent(format, content);
+            if (existing != null) {
+                content = existing;
+            }
+        }
+
+        return content;
+    }
+
+    /**
+     * Serializes the specification model directly to the given stream, without buffering the whole document.
+     */
+    public void stream(SpecificationFormat format, boolean pretty, OutputStream out) throws IOException {
+        getWriter(format, pretty).writeValue(out, getValue(format));
+    }
+
+    public void stream(SpecificationFormat format, OutputStream out) throws IOException {
+        stream(format, true, out);
+    }
+
+    /**
+     * Returns the value to serialize in the given format. Swagger serialization rules are only registered with the
+     * JSON and YAML mappers, so binary formats serialize the JSON tree of the specification.
+     */
+    private Object getValue(SpecificationFormat format) {
+        return format.isBinary() ? Json.mapper().valueToTree(getSwagger()) : getSwagger();
+    }
+
+    private static ObjectWriter getWriter(SpecificationFormat format, boolean pretty) {
+        return (pretty ? PRETTY_WRITERS : COMPACT_WRITERS).get(format);
+    }
+
+    /**
+     * Returns views derived from this specification, which are discarded together with it.
+     */
+    public SpecificationViews getViews(int maximumSize) {
+        if (views == null) {
+            synchronized (this) {
+                if (views == null) {
+                    views = new SpecificationViews(maximumSize);
+                }
+            }
+        }
+
+        return views;
+    }
+
+    public SpecificationIndex getIndex() {
+        if (model != null) {
+            SoftReference<SpecificationIndex> reference = materializedIndex;
+            SpecificationIndex materialized = reference == null ? null : reference.get();
+
+            if (materialized == null) {
+                synchronized (this) {
+                    reference = materializedIndex;
+                    materialized = reference == null ? null : reference.get();
+
+                    if (materialized == null) {
+                        materialized = SpecificationIndex.build(getSwagger());
+                        materializedIndex = new SoftReference<>(materialized);
+                    }
+                }
+            }
+
+            return materialized;
+        }
+
+        if (index == null) {
+            synchronized (this) {
+                if (index == null) {
+                    index = SpecificationIndex.build(getSwagger());
+                }
+            }
+        }
+
+        return index;
+    }
+
+    public Swagger getSwagger() {
+        if (model == null) {
+            return swagger;
+        }
+
+        SoftReference<Swagger> reference = materializedSwagger;
+        Swagger materialized = reference == null ? null : reference.get();
+
+        if (materialized == null) {
+            synchronized (this) {
+                reference = materializedSwagger;
+                materialized = reference == null ? null : reference.get();
+
+                if (materialized == null) {
+                    try {
+                        materialized = model.call();
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Unable to materialize API specification.", e);
+                    }
+                    materializedSwagger = new SoftReference<>(materialized);
+                }
+            }
+        }
+
+        return materialized;
+    }
+
+    /**
+     * Returns SHA-256 digest of the specification in JSON format, in the default variant. Digest of rendered
+     * specification equals its entity tag, digest of specification which was not rendered is computed once.
+     */
+    public String getDigest() throws JsonProcessingException {
+        if (rendered) {
+            return getContent(SpecificationFormat.JSON).getDigest();
+        }
+
+        if (digest == null) {
+            digest = ContentUtil.digest(getWriter(SpecificationFormat.JSON, prettyPrint)
+                    .writeValueAsBytes(getValue(SpecificationFormat.JSON)));
+        }
+
+        return digest;
+    }
+
+    /**
+     * Returns generation of the specification, which is incremented each time the specification changes, or 0 if
+     * the specification is derived from another one, e.g. filtered.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    void setGeneration(long generation) {
+        this.generation = generation;
+    }
+
+    /**
+     * Returns whether the specification is rendered upfront, as opposed to serialized on each request.
+     */
+    public boolean isRendered() {
+        return rendered;
+    }
+
+    public boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,78 @@
+package com.kumuluz.ee.swagger.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SpecificationCache class - holds rendered API specifications, keyed by scanner/config id. Specification which is
+ * still being rendered (e.g. during warm-up) is held as an incomplete future.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationCache {
+
+    private static final SpecificationCache INSTANCE = new SpecificationCache();
+
+    private final ConcurrentMap<String, CompletableFuture<RenderedSpecification>> specifications =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Generation> generations = new ConcurrentHashMap<>();
+
+    private SpecificationCache() {
+    }
+
+    public static SpecificationCache getInstance() {
+        return INSTANCE;
+    }
+
+    public CompletableFuture<RenderedSpecification> get(String key) {
+        return specifications.get(key);
+    }
+
+    public CompletableFuture<RenderedSpecification> putIfAbsent(String key,
+                                                                CompletableFuture<RenderedSpecification> specification) {
+        CompletableFuture<RenderedSpecification> existing = specifications.putIfAbsent(key, specification);
+        return existing != null ? existing : specification;
+    }
+
+    /**
+     * Replaces the current specification, requests already waiting for the previous one are not affected.
+     */
+    public void replace(String key, CompletableFuture<RenderedSpecification> specification) {
+        specifications.put(key, specification);
+    }
+
+    public void remove(String key, CompletableFuture<RenderedSpecification> specification) {
+        specifications.remove(key, specification);
+    }
+
+    /**
+     * Assigns generation to the specification rendered for the given key. Generation starts at 1 and is incremented
+     * each time the specification rendered for the key differs from the previous one, e.g. after reload.
+     */
+    public RenderedSpecification assignGeneration(String key, RenderedSpecification specification)
+            throws JsonProcessingException {
+        String digest = specification.getDigest();
+        Generation generation = generations.compute(key, (k, current) -> current == null ?
+                new Generation(digest, 1) :
+                current.digest.equals(digest) ? current : new Generation(digest, current.number + 1));
+
+        specification.setGeneration(generation.number);
+        return specification;
+    }
+
+    private static class Generation {
+
+        private final String digest;
+        private final long number;
+
+        Generation(String digest, long number) {
+            this.digest = digest;
+            this.number = number;
+        }
+    }
+}
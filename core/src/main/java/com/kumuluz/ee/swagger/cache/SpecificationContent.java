@@ -0,0 +1,105 @@
+package com.kumuluz.ee.swagger.cache;
+
+import com.kumuluz.ee.swagger.utils.ContentUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * SpecificationContent class - immutable serialized API specification in a single format, together with its
+ * strong entity tag and a pre-compressed gzip variant. Content is held in a heap buffer or in a buffer outside of
+ * the heap, e.g. mapped from a file.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class SpecificationContent {
+
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final ByteBuffer content;
+    private final String digest;
+    private final String eTag;
+    private final SpecificationContent gzipped;
+
+    SpecificationContent(byte[] content) {
+        this(ByteBuffer.wrap(content), gzip(content));
+    }
+
+    SpecificationContent(ByteBuffer content, SpecificationContent gzipped) {
+        this(content, ContentUtil.digest(content.duplicate()), gzipped);
+    }
+
+    private SpecificationContent(ByteBuffer content, String digest, SpecificationContent gzipped) {
+        this.content = content.asReadOnlyBuffer();
+        this.digest = digest;
+        this.eTag = "\"" + digest + "\"";
+        this.gzipped = gzipped;
+    }
+
+    /**
+     * Returns copy of this content, together with its gzip compressed variant, in buffers outside of the heap.
+     */
+    SpecificationContent toDirect() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.remaining());
+        direct.put(content.duplicate());
+        direct.flip();
+
+        return new SpecificationContent(direct, digest, gzipped == null ? null : gzipped.toDirect());
+    }
+
+    public int getContentLength() {
+        return content.remaining();
+    }
+
+    /**
+     * Returns SHA-256 digest of the content, base64url encoded.
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Returns gzip compressed variant of this content or null, if compression does not reduce its size.
+     */
+    public SpecificationContent getGzipped() {
+        return gzipped;
+    }
+
+    /**
+     * Returns read-only view of the content.
+     */
+    public ByteBuffer getBuffer() {
+        return content.duplicate();
+    }
+
+    /**
+     * Writes the content to the given stream. Content outside of the heap is copied in chunks.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        ByteBuffer buffer = content.duplicate();
+
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            byte[] chunk = new byte[Math.min(COPY_BUFFER_SIZE, buffer.remaining())];
+
+            while (buffer.hasRemaining()) {
+                int length = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+        }
+    }
+
+    private static SpecificationContent gzip(byte[] content) {
+        byte[] compressed = ContentUtil.gzip(content);
+
+        return compressed == null ? null : new SpecificationContent(ByteBuffer.wrap(compressed), null);
+    }
+}
@@ -0,0 +1,276 @@
+package com.kumuluz.ee.swagger.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+import com.kumuluz.ee.swagger.utils.ContentUtil;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * SpecificationDiskCache class - keeps rendered API specifications on disk between restarts, under the fingerprint
+ * of everything they were generated from. Stored specification is memory-mapped and served without reading it into
+ * the heap, its model is parsed only if needed, e.g. for filtering.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class SpecificationDiskCache {
+
+    private static final Logger LOG = Logger.getLogger(SpecificationDiskCache.class.getName());
+
+    private static final String FILE_NAME = "swagger";
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private static final SpecificationDiskCache DISABLED = new SpecificationDiskCache(null);
+
+    private static volatile SpecificationDiskCache instance;
+
+    private final Path directory;
+
+    SpecificationDiskCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the configured disk cache or null, if it is disabled.
+     */
+    public static SpecificationDiskCache getInstance() {
+        SpecificationDiskCache diskCache = instance;
+
+        if (diskCache == null) {
+            synchronized (SpecificationDiskCache.class) {
+                diskCache = instance;
+
+                if (diskCache == null) {
+                    // disabled cache is remembered as well, configuration is not read again on each call
+                    diskCache = create(ConfigurationUtil.getInstance());
+                    instance = diskCache;
+                }
+            }
+        }
+
+        return diskCache == DISABLED ? null : diskCache;
+    }
+
+    private static SpecificationDiskCache create(ConfigurationUtil configurationUtil) {
+        if (!configurationUtil.getBoolean("kumuluzee.swagger.disk-cache.enabled").orElse(false)) {
+            return DISABLED;
+        }
+
+        Path directory = configurationUtil.get("kumuluzee.swagger.disk-cache.directory")
+                .map(Paths::get)
+                .orElseGet(SpecificationDiskCache::getDefaultDirectory);
+        if (directory == null) {
+            return DISABLED;
+        }
+
+        // services sharing the directory may serve applications on the same path
+        String namespace = configurationUtil.get("kumuluzee.swagger.disk-cache.namespace")
+                .orElseGet(() -> getDefaultNamespace(configurationUtil));
+
+        return new SpecificationDiskCache(directory.resolve(sanitize(namespace)));
+    }
+
+    /**
+     * Returns directory of the current user in the temporary directory, which is shared by all users, or null, if it
+     * can not be created or is accessible to other users.
+     */
+    private static Path getDefaultDirectory() {
+        String user = sanitize(System.getProperty("user.name", ""));
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"), "kumuluzee-swagger-" + user);
+
+        try {
+            if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                // e.g. Windows, where the temporary directory belongs to the user
+                return Files.createDirectories(directory);
+            }
+
+            try {
+                Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            } catch (FileAlreadyExistsException e) {
+                // created by an earlier run, verified below
+            }
+
+            // directory may have been created in advance by another user, who could plant specifications in it
+            UserPrincipal owner = directory.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            if (Files.isSymbolicLink(directory) ||
+                    !owner.equals(Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS)) ||
+                    !OWNER_ONLY.equals(Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS))) {
+                LOG.warning("Disk cache of API specifications is disabled, " + directory + " is not private to " +
+                        "the current user. Set kumuluzee.swagger.disk-cache.directory to enable it.");
+                return null;
+            }
+
+            return directory;
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.warning("Disk cache of API specifications is disabled, unable to create " + directory + ": " +
+                    e.getMessage() + ". Set kumuluzee.swagger.disk-cache.directory to enable it.");
+            return null;
+        }
+    }
+
+    /**
+     * Returns namespace which identifies the service by its name and the location of its class path.
+     */
+    private static String getDefaultNamespace(ConfigurationUtil configurationUtil) {
+        String name = configurationUtil.get("kumuluzee.name").orElse("");
+        StringBuilder service = new StringBuilder(name);
+
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            service.append(File.pathSeparatorChar).append(new File(entry).getAbsolutePath());
+        }
+
+        String digest = ContentUtil.digest(service.toString().getBytes(StandardCharsets.UTF_8))
+                .substring(0, 16);
+
+        return name.isEmpty() ? digest : name + "-" + digest;
+    }
+
+    /**
+     * Returns whether specification with the given key and fingerprint is stored.
+     */
+    public boolean contains(String key, String fingerprint) {
+        return Files.isDirectory(getEntry(key, fingerprint));
+    }
+
+    /**
+     * Returns stored specification with the given key and fingerprint or null, if it is not stored or can not be
+     * read.
+     */
+    public RenderedSpecification load(String key, String fingerprint, boolean prettyPrint) {
+        Path entry = getEntry(key, fingerprint);
+
+        if (!Files.isDirectory(entry)) {
+            return null;
+        }
+
+        try {
+            Map<SpecificationFormat, SpecificationContent> contents = new EnumMap<>(SpecificationFormat.class);
+
+            for (SpecificationFormat format : SpecificationFormat.values()) {
+                Path file = entry.resolve(FILE_NAME + "." + format.getExtension());
+                Path gzippedFile = entry.resolve(FILE_NAME + "." + format.getExtension() + GZIP_EXTENSION);
+
+                SpecificationContent gzipped = Files.exists(gzippedFile) ?
+                        new SpecificationContent(map(gzippedFile), null) : null;
+                contents.put(format, new SpecificationContent(map(file), gzipped));
+            }
+
+            Path json = entry.resolve(FILE_NAME + "." + SpecificationFormat.JSON.getExtension());
+
+            return RenderedSpecification.restore(contents, prettyPrint, () -> {
+                try (InputStream is = Files.newInputStream(json)) {
+                    return Json.mapper().readValue(is, Swagger.class);
+                }
+            }, Files.getLastModifiedTime(entry).toMillis());
+        } catch (IOException e) {
+            LOG.warning("Unable to load cached API specification " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores rendered specification under the given fingerprint and removes specifications with the same key stored
+     * under other fingerprints. Specifications of other services, stored in other namespaces, are left intact.
+     */
+    public void store(String key, String fingerprint, RenderedSpecification specification) {
+        Path entry = getEntry(key, fingerprint);
+
+        if (Files.isDirectory(entry)) {
+            return;
+        }
+
+        Path temporary = null;
+
+        try {
+            Files.createDirectories(entry.getParent());
+            temporary = Files.createTempDirectory(entry.getParent(), fingerprint + ".");
+
+            for (SpecificationFormat format : SpecificationFormat.values()) {
+                SpecificationContent content = specification.getContent(format, specification.isPrettyPrint());
+
+                write(temporary.resolve(FILE_NAME + "." + format.getExtension()), content);
+                if (content.getGzipped() != null) {
+                    write(temporary.resolve(FILE_NAME + "." + format.getExtension() + GZIP_EXTENSION),
+                            content.getGzipped());
+                }
+            }
+
+            // entry becomes visible only when complete
+            Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE);
+            temporary = null;
+
+            removeOtherEntries(entry);
+        } catch (JsonProcessingException e) {
+            LOG.warning("Unable to render API specification " + key + " for caching: " + e.getMessage());
+        } catch (IOException e) {
+            LOG.warning("Unable to cache API specification " + key + ": " + e.getMessage());
+        } finally {
+            if (temporary != null) {
+                delete(temporary);
+            }
+        }
+    }
+
+    private Path getEntry(String key, String fingerprint) {
+        return directory.resolve(sanitize(key)).resolve(fingerprint);
+    }
+
+    private static String sanitize(String name) {
+        // leading dot would allow "." and ".." to escape the directory
+        return name.replaceAll("[^A-Za-z0-9._-]", "_").replaceFirst("^\\.", "_");
+    }
+
+    private static void write(Path file, SpecificationContent content) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            content.writeTo(out);
+        }
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // mapping remains valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static void removeOtherEntries(Path entry) {
+        try (Stream<Path> entries = Files.list(entry.getParent())) {
+            for (Path other : entries.filter(e -> !e.equals(entry)).collect(Collectors.toList())) {
+                delete(other);
+            }
+        } catch (IOException e) {
+            LOG.fine("Unable to remove outdated cached API specifications: " + e.getMessage());
+        }
+    }
+
+    private static void delete(Path path) {
+        try (Stream<Path> files = Files.walk(path)) {
+            List<Path> sorted = files.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            for (Path file : sorted) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            LOG.fine("Unable to delete " + path + ": " + e.getMessage());
+        }
+    }
+}
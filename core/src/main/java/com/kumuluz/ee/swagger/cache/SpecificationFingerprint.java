@@ -0,0 +1,136 @@
+package com.kumuluz.ee.swagger.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * SpecificationFingerprint class - digest of everything an API specification is generated from: class path entries
+ * (jars by their size and modification time, directories by their files), configuration resources and settings.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class SpecificationFingerprint {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest digest;
+
+    public SpecificationFingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 message digest not available.", e);
+        }
+    }
+
+    public SpecificationFingerprint add(String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        return this;
+    }
+
+    /**
+     * Adds content of the given class path resource, if it exists.
+     */
+    public SpecificationFingerprint addResource(ClassLoader classLoader, String resource) throws IOException {
+        add(resource);
+
+        try (InputStream is = classLoader.getResourceAsStream(resource)) {
+            if (is != null) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+
+        digest.update((byte) 0);
+        return this;
+    }
+
+    /**
+     * Adds entries of the system class path and of the given class loader and its parents, if they are URL class
+     * loaders.
+     */
+    public SpecificationFingerprint addClassPath(ClassLoader classLoader) throws IOException {
+        Set<Path> entries = new LinkedHashSet<>();
+
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(Paths.get(entry).toAbsolutePath());
+            }
+        }
+
+        for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        try {
+                            entries.add(Paths.get(url.toURI()).toAbsolutePath());
+                        } catch (URISyntaxException | IllegalArgumentException e) {
+                            add(url.toString());
+                        }
+                    }
+                }
+            }
+        }
+
+        for (Path entry : entries) {
+            addFile(entry, entry);
+        }
+
+        return this;
+    }
+
+    private void addFile(Path root, Path file) throws IOException {
+        if (Files.isDirectory(file)) {
+            List<Path> files;
+            try (Stream<Path> children = Files.walk(file)) {
+                files = children.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+
+            add(file.toString());
+            for (Path child : files) {
+                addFile(root, child);
+            }
+        } else if (Files.exists(file)) {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            add(root.equals(file) ? file.toString() : root.relativize(file).toString());
+            add(Long.toString(attributes.size()));
+            add(Long.toString(attributes.lastModifiedTime().toMillis()));
+        }
+    }
+
+    /**
+     * Returns the fingerprint as a hexadecimal string.
+     */
+    public String get() {
+        byte[] bytes = digest.digest();
+        char[] hex = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+
+        return new String(hex);
+    }
+}
@@ -0,0 +1,84 @@
+package com.kumuluz.ee.swagger.cache;
+
+import com.kumuluz.ee.swagger.utils.HttpUtil;
+
+/**
+ * SpecificationFormat enum - formats in which the API specification is served.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public enum SpecificationFormat {
+
+    JSON("json", "application/json", false),
+    YAML("yaml", "application/yaml", false),
+    SMILE("smile", "application/x-jackson-smile", true),
+    CBOR("cbor", "application/cbor", true);
+
+    private final String extension;
+    private final String contentType;
+    private final boolean binary;
+
+    SpecificationFormat(String extension, String contentType, boolean binary) {
+        this.extension = extension;
+        this.contentType = contentType;
+        this.binary = binary;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public static SpecificationFormat fromExtension(String extension) {
+        if (extension == null) {
+            return null;
+        }
+
+        for (SpecificationFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension.trim())) {
+                return format;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the format with the highest quality value in the Accept header or null, if none of the formats is
+     * accepted. Formats with q=0 are refused, among formats with equal quality the first listed one is returned.
+     */
+    public static SpecificationFormat fromAccept(String accept) {
+        if (accept == null) {
+            return null;
+        }
+
+        SpecificationFormat accepted = null;
+        double acceptedQuality = 0;
+
+        for (String mediaType : accept.split(",")) {
+            String[] parts = mediaType.split(";");
+            String type = parts[0].trim();
+
+            for (SpecificationFormat format : values()) {
+                if (format.contentType.equalsIgnoreCase(type)) {
+                    double quality = HttpUtil.getQuality(parts);
+                    if (quality > acceptedQuality) {
+                        accepted = format;
+                        acceptedQuality = quality;
+                    }
+                    break;
+                }
+            }
+        }
+
+        return accepted;
+    }
+}
@@ -0,0 +1,60 @@
+package com.kumuluz.ee.swagger.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * SpecificationViews class - bounded cache of views (e.g. filtered variants) derived from a single API specification.
+ * Least recently used views are evicted first. Each view is computed once, concurrent requests for the same view wait
+ * for its result.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationViews {
+
+    private final Map<String, CompletableFuture<RenderedSpecification>> views;
+
+    public SpecificationViews(int maximumSize) {
+        this.views = new LinkedHashMap<String, CompletableFuture<RenderedSpecification>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<RenderedSpecification>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    public RenderedSpecification get(String key, Callable<RenderedSpecification> view)
+            throws ExecutionException, InterruptedException {
+        CompletableFuture<RenderedSpecification> existing;
+        CompletableFuture<RenderedSpecification> created = new CompletableFuture<>();
+
+        synchronized (views) {
+            existing = views.putIfAbsent(key, created);
+        }
+
+        if (existing != null) {
+            return existing.get();
+        }
+
+        try {
+            created.complete(view.call());
+        } catch (Exception e) {
+            synchronized (views) {
+                views.remove(key, created);
+            }
+            created.completeExceptionally(e);
+        }
+
+        return created.get();
+    }
+
+    public int size() {
+        synchronized (views) {
+            return views.size();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.kumuluz.ee.swagger.filter;
+
+import io.swagger.core.filter.SwaggerSpecFilter;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * CacheableSpecFilter interface - specification filter, which declares request inputs it depends on. Filter only
+ * receives declared query parameters, headers and cookies, and the filtered specification is cached for each
+ * combination of their values.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public interface CacheableSpecFilter extends SwaggerSpecFilter {
+
+    default Set<String> getQueryParameterNames() {
+        return Collections.emptySet();
+    }
+
+    default Set<String> getHeaderNames() {
+        return Collections.emptySet();
+    }
+
+    default Set<String> getCookieNames() {
+        return Collections.emptySet();
+    }
+}
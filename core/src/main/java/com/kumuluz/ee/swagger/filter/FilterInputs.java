@@ -0,0 +1,105 @@
+package com.kumuluz.ee.swagger.filter;
+
+import io.swagger.core.filter.SpecFilter;
+import io.swagger.core.filter.SwaggerSpecFilter;
+import io.swagger.models.Swagger;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import java.util.*;
+
+/**
+ * FilterInputs class - query parameters, headers and cookies of a request, which are passed to the specification
+ * filter.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class FilterInputs {
+
+    private final Map<String, List<String>> queryParameters;
+    private final Map<String, List<String>> headers;
+    private final Map<String, String> cookies;
+
+    private FilterInputs(Map<String, List<String>> queryParameters, Map<String, List<String>> headers,
+                         Map<String, String> cookies) {
+        this.queryParameters = queryParameters;
+        this.headers = headers;
+        this.cookies = cookies;
+    }
+
+    /**
+     * Collects all inputs of the request.
+     */
+    public static FilterInputs of(HttpServletRequest request) {
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        request.getParameterMap().forEach((name, values) -> queryParameters.put(name, Arrays.asList(values)));
+
+        Map<String, List<String>> headers = new HashMap<>();
+        Enumeration<String> headerNames = request.getHeaderNames();
+        while (headerNames != null && headerNames.hasMoreElements()) {
+            String name = headerNames.nextElement();
+            headers.put(name, Collections.list(request.getHeaders(name)));
+        }
+
+        Map<String, String> cookies = new HashMap<>();
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                cookies.put(cookie.getName(), cookie.getValue());
+            }
+        }
+
+        return new FilterInputs(queryParameters, headers, cookies);
+    }
+
+    /**
+     * Collects only inputs declared by the filter, in a deterministic order.
+     */
+    public static FilterInputs of(CacheableSpecFilter filter, HttpServletRequest request) {
+        Map<String, List<String>> queryParameters = new TreeMap<>();
+        for (String name : filter.getQueryParameterNames()) {
+            String[] values = request.getParameterValues(name);
+            queryParameters.put(name, values == null ? Collections.emptyList() : Arrays.asList(values));
+        }
+
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String name : filter.getHeaderNames()) {
+            Enumeration<String> values = request.getHeaders(name);
+            headers.put(name, values == null ? Collections.emptyList() : Collections.list(values));
+        }
+
+        Map<String, String> cookies = new TreeMap<>();
+        if (!filter.getCookieNames().isEmpty() && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (filter.getCookieNames().contains(cookie.getName())) {
+                    cookies.put(cookie.getName(), cookie.getValue());
+                }
+            }
+        }
+
+        return new FilterInputs(queryParameters, headers, cookies);
+    }
+
+    /**
+     * Returns key which identifies the filtered view. Only meaningful for inputs declared by the filter.
+     */
+    public String getKey() {
+        StringBuilder key = new StringBuilder();
+
+        queryParameters.forEach((name, values) -> key.append("q:").append(name).append('=').append(values)
+                .append(';'));
+        headers.forEach((name, values) -> key.append("h:").append(name.toLowerCase(Locale.ROOT)).append('=')
+                .append(values).append(';'));
+        cookies.forEach((name, value) -> key.append("c:").append(name).append('=').append(value).append(';'));
+
+        return key.toString();
+    }
+
+    /**
+     * Filters the given specification. {@link SpecFilter} builds the filtered specification from clones of paths,
+     * operations and definitions and leaves the given specification intact, so it is not copied upfront.
+     */
+    public Swagger filter(Swagger swagger, SwaggerSpecFilter filter) {
+        return new SpecFilter().filter(swagger, filter, queryParameters, cookies, headers);
+    }
+}
@@ -0,0 +1,89 @@
+package com.kumuluz.ee.swagger.generator;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kumuluz.ee.swagger.models.SwaggerConfiguration;
+import io.swagger.jaxrs.Reader;
+import io.swagger.jaxrs.config.BeanConfig;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * SpecificationGenerator class - generates complete API specification at build time.
+ *
+ * <p>Reads every <code>api-specs/&lt;path&gt;/swagger-configuration.json</code> written by
+ * {@link com.kumuluz.ee.swagger.processor.JaxRsSwaggerAnnotationProcessor} from the given classes directory, scans
+ * the compiled resource classes and writes <code>swagger.json</code> next to it. Other formats are rendered from it
+ * at runtime, after host, base path and schemes are applied. Must run after compilation with the compiled classes on
+ * the classpath, e.g. with exec-maven-plugin in the <code>process-classes</code> phase.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationGenerator {
+
+    private static final Logger LOG = Logger.getLogger(SpecificationGenerator.class.getName());
+
+    public static final String CONFIGURATION_FILE = "swagger-configuration.json";
+    public static final String SPECIFICATION_FILE = "swagger.json";
+
+    public static void main(String[] args) throws IOException {
+        Path classesDirectory = Paths.get(args.length > 0 ? args[0] : "target/classes");
+        Path specsDirectory = classesDirectory.resolve("api-specs");
+
+        if (!Files.isDirectory(specsDirectory)) {
+            LOG.warning("Directory " + specsDirectory + " not found. Swagger specification will not be generated.");
+            return;
+        }
+
+        List<Path> configurationFiles;
+        try (Stream<Path> files = Files.walk(specsDirectory)) {
+            configurationFiles = files.filter(f -> f.getFileName().toString().equals(CONFIGURATION_FILE))
+                    .collect(Collectors.toList());
+        }
+
+        for (Path configurationFile : configurationFiles) {
+            generate(configurationFile);
+        }
+    }
+
+    private static void generate(Path configurationFile) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+
+        SwaggerConfiguration swaggerConfiguration = mapper.readValue(configurationFile.toFile(),
+                SwaggerConfiguration.class);
+
+        if (swaggerConfiguration.getResourcePackages().isEmpty()) {
+            LOG.warning("No resource packages in " + configurationFile + ". Swagger specification will not be " +
+                    "generated.");
+            return;
+        }
+
+        BeanConfig beanConfig = new BeanConfig();
+        beanConfig.setResourcePackage(swaggerConfiguration.getResourcePackagesAsString());
+
+        Swagger swagger = new Swagger();
+        if (swaggerConfiguration.getSwagger() != null) {
+            swagger.setInfo(swaggerConfiguration.getSwagger().getInfo());
+            swagger.setBasePath(swaggerConfiguration.getSwagger().getBasePath());
+        }
+
+        swagger = new Reader(swagger).read(beanConfig.classes());
+
+        Files.write(configurationFile.resolveSibling(SPECIFICATION_FILE),
+                Json.mapper().writer(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(swagger));
+
+        LOG.info("Swagger specification generated in " + configurationFile.getParent() + ".");
+    }
+}
@@ -0,0 +1,141 @@
+package com.kumuluz.ee.swagger.index;
+
+import io.swagger.models.*;
+import io.swagger.models.parameters.AbstractSerializableParameter;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.RefParameter;
+import io.swagger.models.properties.*;
+import io.swagger.models.refs.RefFormat;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ModelReferences class - collects internal references (e.g. #/definitions/Order) made directly by parts of the API
+ * specification.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class ModelReferences {
+
+    private ModelReferences() {
+    }
+
+    public static void collect(Operation operation, Set<String> references) {
+        if (operation == null) {
+            return;
+        }
+
+        collectParameters(operation.getParameters(), references);
+
+        if (operation.getResponses() != null) {
+            for (Response response : operation.getResponses().values()) {
+                collect(response, references);
+            }
+        }
+    }
+
+    public static void collectParameters(Collection<Parameter> parameters, Set<String> references) {
+        if (parameters == null) {
+            return;
+        }
+
+        for (Parameter parameter : parameters) {
+            collect(parameter, references);
+        }
+    }
+
+    public static void collect(Parameter parameter, Set<String> references) {
+        if (parameter instanceof RefParameter) {
+            RefParameter refParameter = (RefParameter) parameter;
+            if (refParameter.getRefFormat() == RefFormat.INTERNAL) {
+                references.add(refParameter.get$ref());
+            }
+        } else if (parameter instanceof BodyParameter) {
+            collect(((BodyParameter) parameter).getSchema(), references);
+        } else if (parameter instanceof AbstractSerializableParameter) {
+            collect(((AbstractSerializableParameter<?>) parameter).getItems(), references);
+        }
+    }
+
+    public static void collect(Response response, Set<String> references) {
+        if (response == null) {
+            return;
+        }
+
+        if (response instanceof RefResponse) {
+            RefResponse refResponse = (RefResponse) response;
+            if (refResponse.getRefFormat() == RefFormat.INTERNAL) {
+                references.add(refResponse.get$ref());
+            }
+            return;
+        }
+
+        collect(response.getResponseSchema(), references);
+        collectProperties(response.getHeaders(), references);
+    }
+
+    public static void collect(Model model, Set<String> references) {
+        if (model == null) {
+            return;
+        }
+
+        if (model instanceof RefModel) {
+            RefModel refModel = (RefModel) model;
+            if (refModel.getRefFormat() == RefFormat.INTERNAL) {
+                references.add(refModel.get$ref());
+            }
+        } else if (model instanceof ArrayModel) {
+            collect(((ArrayModel) model).getItems(), references);
+        } else if (model instanceof ComposedModel) {
+            ComposedModel composedModel = (ComposedModel) model;
+            if (composedModel.getAllOf() != null) {
+                for (Model allOf : composedModel.getAllOf()) {
+                    collect(allOf, references);
+                }
+            }
+        } else if (model instanceof ModelImpl) {
+            collect(((ModelImpl) model).getAdditionalProperties(), references);
+        }
+
+        collectProperties(model.getProperties(), references);
+    }
+
+    public static void collect(Property property, Set<String> references) {
+        if (property == null) {
+            return;
+        }
+
+        if (property instanceof RefProperty) {
+            RefProperty refProperty = (RefProperty) property;
+            if (refProperty.getRefFormat() == RefFormat.INTERNAL) {
+                references.add(refProperty.get$ref());
+            }
+        } else if (property instanceof ArrayProperty) {
+            collect(((ArrayProperty) property).getItems(), references);
+        } else if (property instanceof MapProperty) {
+            collect(((MapProperty) property).getAdditionalProperties(), references);
+        } else if (property instanceof ObjectProperty) {
+            collectProperties(((ObjectProperty) property).getProperties(), references);
+        } else if (property instanceof ComposedProperty) {
+            if (((ComposedProperty) property).getAllOf() != null) {
+                for (Property allOf : ((ComposedProperty) property).getAllOf()) {
+                    collect(allOf, references);
+                }
+            }
+        }
+    }
+
+    private static void collectProperties(Map<String, Property> properties, Set<String> references) {
+        if (properties == null) {
+            return;
+        }
+
+        for (Property property : properties.values()) {
+            collect(property, references);
+        }
+    }
+}
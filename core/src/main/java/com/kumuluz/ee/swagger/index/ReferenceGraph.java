@@ -0,0 +1,142 @@
+package com.kumuluz.ee.swagger.index;
+
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+import java.util.*;
+
+/**
+ * ReferenceGraph class - graph of internal references between paths, global parameters, global responses and
+ * definitions of the API specification. Nodes are identified by JSON pointers, e.g. #/definitions/Order or
+ * #/paths/~1orders.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class ReferenceGraph {
+
+    public static final String DEFINITIONS = "#/definitions/";
+    public static final String PARAMETERS = "#/parameters/";
+    public static final String RESPONSES = "#/responses/";
+    public static final String PATHS = "#/paths/";
+
+    private final Map<String, Set<String>> references = new HashMap<>();
+    private final Map<String, Set<String>> operationReferences = new HashMap<>();
+
+    private ReferenceGraph() {
+    }
+
+    public static ReferenceGraph build(Swagger swagger) {
+        ReferenceGraph graph = new ReferenceGraph();
+
+        if (swagger.getPaths() != null) {
+            swagger.getPaths().forEach(graph::addPath);
+        }
+
+        if (swagger.getParameters() != null) {
+            swagger.getParameters().forEach((name, parameter) ->
+                    ModelReferences.collect(parameter, graph.node(PARAMETERS + name)));
+        }
+
+        if (swagger.getResponses() != null) {
+            swagger.getResponses().forEach((name, response) ->
+                    ModelReferences.collect(response, graph.node(RESPONSES + name)));
+        }
+
+        if (swagger.getDefinitions() != null) {
+            swagger.getDefinitions().forEach((name, model) ->
+                    ModelReferences.collect(model, graph.node(DEFINITIONS + name)));
+        }
+
+        return graph;
+    }
+
+    private void addPath(String name, Path path) {
+        Set<String> pathReferences = node(path(name));
+        ModelReferences.collectParameters(path.getParameters(), pathReferences);
+
+        for (Map.Entry<HttpMethod, Operation> operation : path.getOperationMap().entrySet()) {
+            Set<String> references = new HashSet<>();
+            ModelReferences.collect(operation.getValue(), references);
+
+            operationReferences.put(operation(name, operation.getKey()), references);
+            pathReferences.addAll(references);
+        }
+    }
+
+    private Set<String> node(String node) {
+        return references.computeIfAbsent(node, n -> new HashSet<>());
+    }
+
+    public static String path(String path) {
+        // JSON pointer escaping
+        return PATHS + path.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String operation(String path, HttpMethod method) {
+        return path(path) + "/" + method.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns nodes directly referenced by the given node.
+     */
+    public Set<String> getReferences(String node) {
+        return Collections.unmodifiableSet(references.getOrDefault(node, Collections.emptySet()));
+    }
+
+    /**
+     * Returns nodes directly referenced by the given operation, including its parameters and responses.
+     */
+    public Set<String> getReferences(String path, HttpMethod method) {
+        return Collections.unmodifiableSet(operationReferences.getOrDefault(operation(path, method),
+                Collections.emptySet()));
+    }
+
+    /**
+     * Returns given nodes and all nodes transitively referenced by them.
+     */
+    public Set<String> getReachable(Collection<String> roots) {
+        Set<String> reachable = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(roots);
+
+        while (!pending.isEmpty()) {
+            String node = pending.pop();
+
+            if (reachable.add(node)) {
+                pending.addAll(references.getOrDefault(node, Collections.emptySet()));
+            }
+        }
+
+        return reachable;
+    }
+
+    /**
+     * Returns nodes transitively referenced by any path of the specification.
+     */
+    public Set<String> getReachableFromPaths() {
+        List<String> paths = new ArrayList<>();
+        for (String node : references.keySet()) {
+            if (node.startsWith(PATHS)) {
+                paths.add(node);
+            }
+        }
+
+        return getReachable(paths);
+    }
+
+    /**
+     * Returns names of nodes of the given type (e.g. {@link #DEFINITIONS}) among the given nodes.
+     */
+    public static Set<String> names(Set<String> nodes, String type) {
+        Set<String> names = new HashSet<>();
+        for (String node : nodes) {
+            if (node.startsWith(type)) {
+                names.add(node.substring(type.length()));
+            }
+        }
+
+        return names;
+    }
+}
@@ -0,0 +1,231 @@
+package com.kumuluz.ee.swagger.index;
+
+import io.swagger.models.*;
+
+import java.util.*;
+
+/**
+ * SpecificationIndex class - index of operations by tag and graph of references between parts of the specification.
+ * Built once per specification, it allows slicing the specification in time proportional to the size of the slice
+ * and pruning of unreachable definitions.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationIndex {
+
+    private final Swagger swagger;
+    private final ReferenceGraph referenceGraph;
+    private final Map<String, List<IndexedOperation>> operationsByTag = new HashMap<>();
+    private final Map<String, Integer> pathPositions = new HashMap<>();
+
+    private SpecificationIndex(Swagger swagger) {
+        this.swagger = swagger;
+        this.referenceGraph = ReferenceGraph.build(swagger);
+    }
+
+    public static SpecificationIndex build(Swagger swagger) {
+        SpecificationIndex index = new SpecificationIndex(swagger);
+
+        if (swagger.getPaths() != null) {
+            swagger.getPaths().forEach(index::indexPath);
+        }
+
+        return index;
+    }
+
+    private void indexPath(String pathName, Path path) {
+        pathPositions.put(pathName, pathPositions.size());
+
+        for (Map.Entry<HttpMethod, Operation> operation : path.getOperationMap().entrySet()) {
+            if (operation.getValue().getTags() != null) {
+                IndexedOperation indexedOperation = new IndexedOperation(pathName, operation.getKey(),
+                        operation.getValue());
+
+                for (String tag : operation.getValue().getTags()) {
+                    operationsByTag.computeIfAbsent(tag, t -> new ArrayList<>()).add(indexedOperation);
+                }
+            }
+        }
+    }
+
+    public ReferenceGraph getReferenceGraph() {
+        return referenceGraph;
+    }
+
+    /**
+     * Returns names of definitions transitively referenced by paths of the specification.
+     */
+    public Set<String> getReachableDefinitions() {
+        return ReferenceGraph.names(referenceGraph.getReachableFromPaths(), ReferenceGraph.DEFINITIONS);
+    }
+
+    /**
+     * Returns specification without global parameters, global responses and definitions, which are not transitively
+     * referenced by any path. Everything retained is reachable from paths, so no reference is left dangling. The
+     * specification this index was built from is not modified.
+     */
+    public Swagger prune() {
+        if (swagger.getParameters() == null && swagger.getResponses() == null && swagger.getDefinitions() == null) {
+            return swagger;
+        }
+
+        Swagger pruned = copy();
+        pruned.setPaths(swagger.getPaths());
+        pruned.setTags(swagger.getTags());
+        selectReachable(pruned, referenceGraph.getReachableFromPaths());
+
+        return pruned;
+    }
+
+    /**
+     * Returns self-contained specification with operations tagged with any of the given tags.
+     */
+    public Swagger sliceByTags(Collection<String> tags) {
+        Map<String, Path> paths = new LinkedHashMap<>();
+        Set<String> references = new HashSet<>();
+
+        for (String tag : tags) {
+            for (IndexedOperation operation : operationsByTag.getOrDefault(tag, Collections.emptyList())) {
+                Path path = paths.computeIfAbsent(operation.path, p -> {
+                    Path slicedPath = new Path();
+                    Path originalPath = swagger.getPath(p);
+                    slicedPath.setParameters(originalPath.getParameters());
+                    if (originalPath.getVendorExtensions() != null) {
+                        originalPath.getVendorExtensions().forEach(slicedPath::setVendorExtension);
+                    }
+                    ModelReferences.collectParameters(originalPath.getParameters(), references);
+                    return slicedPath;
+                });
+
+                path.set(operation.method.name().toLowerCase(Locale.ROOT), operation.operation);
+                references.addAll(referenceGraph.getReferences(operation.path, operation.method));
+            }
+        }
+
+        return slice(inSourceOrder(paths), references);
+    }
+
+    /**
+     * Returns paths in the order of the specification, instead of the order of the requested tags.
+     */
+    private Map<String, Path> inSourceOrder(Map<String, Path> paths) {
+        List<String> pathNames = new ArrayList<>(paths.keySet());
+        pathNames.sort(Comparator.comparing(pathPositions::get));
+
+        Map<String, Path> ordered = new LinkedHashMap<>();
+        for (String pathName : pathNames) {
+            ordered.put(pathName, paths.get(pathName));
+        }
+
+        return ordered;
+    }
+
+    /**
+     * Returns self-contained specification with the given path only, or null if the path does not exist.
+     */
+    public Swagger sliceByPath(String pathName) {
+        Path path = swagger.getPath(pathName);
+
+        if (path == null) {
+            return null;
+        }
+
+        return slice(Collections.singletonMap(pathName, path),
+                referenceGraph.getReferences(ReferenceGraph.path(pathName)));
+    }
+
+    private Swagger slice(Map<String, Path> paths, Set<String> references) {
+        Swagger slice = copy();
+        slice.setPaths(new LinkedHashMap<>(paths));
+
+        Set<String> usedTags = new HashSet<>();
+        for (Path path : paths.values()) {
+            for (Operation operation : path.getOperations()) {
+                if (operation.getTags() != null) {
+                    usedTags.addAll(operation.getTags());
+                }
+            }
+        }
+
+        if (swagger.getTags() != null) {
+            List<Tag> tags = new ArrayList<>();
+            for (Tag tag : swagger.getTags()) {
+                if (usedTags.contains(tag.getName())) {
+                    tags.add(tag);
+                }
+            }
+            slice.setTags(tags);
+        }
+
+        selectReachable(slice, referenceGraph.getReachable(references));
+
+        return slice;
+    }
+
+    /**
+     * Sets global parameters, global responses and definitions of the target to those among the reachable nodes.
+     */
+    private void selectReachable(Swagger target, Set<String> reachable) {
+        if (swagger.getParameters() != null) {
+            target.setParameters(select(swagger.getParameters(),
+                    ReferenceGraph.names(reachable, ReferenceGraph.PARAMETERS)));
+        }
+        if (swagger.getResponses() != null) {
+            target.setResponses(select(swagger.getResponses(),
+                    ReferenceGraph.names(reachable, ReferenceGraph.RESPONSES)));
+        }
+        if (swagger.getDefinitions() != null) {
+            target.setDefinitions(select(swagger.getDefinitions(),
+                    ReferenceGraph.names(reachable, ReferenceGraph.DEFINITIONS)));
+        }
+    }
+
+    private Swagger copy() {
+        Swagger copy = new Swagger()
+                .info(swagger.getInfo())
+                .host(swagger.getHost())
+                .basePath(swagger.getBasePath())
+                .externalDocs(swagger.getExternalDocs());
+
+        copy.setSchemes(swagger.getSchemes());
+        copy.setConsumes(swagger.getConsumes());
+        copy.setProduces(swagger.getProduces());
+        copy.setSecurity(swagger.getSecurity());
+        copy.setSecurityDefinitions(swagger.getSecurityDefinitions());
+        if (swagger.getVendorExtensions() != null) {
+            swagger.getVendorExtensions().forEach(copy::setVendorExtension);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Selects entries with the given names, in the order of the map, so slices are rendered byte for byte the same
+     * regardless of the order in which names were collected.
+     */
+    private static <T> Map<String, T> select(Map<String, T> map, Set<String> names) {
+        Map<String, T> selected = new LinkedHashMap<>();
+
+        map.forEach((name, value) -> {
+            if (names.contains(name)) {
+                selected.put(name, value);
+            }
+        });
+
+        return selected;
+    }
+
+    private static class IndexedOperation {
+
+        private final String path;
+        private final HttpMethod method;
+        private final Operation operation;
+
+        IndexedOperation(String path, HttpMethod method, Operation operation) {
+            this.path = path;
+            this.method = method;
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.kumuluz.ee.swagger.metrics;
+
+import com.kumuluz.ee.swagger.cache.SpecificationFormat;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+/**
+ * JmxSpecificationMetrics class - publishes metrics of each API specification as an MXBean named
+ * com.kumuluz.ee.swagger:type=Specification,name=&lt;specification key&gt;.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class JmxSpecificationMetrics implements SpecificationMetrics {
+
+    private static final Logger LOG = Logger.getLogger(JmxSpecificationMetrics.class.getName());
+
+    private final ConcurrentMap<String, SpecificationStatistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void scanCompleted(String specification, long durationNanos, int classes) {
+        getStatistics(specification).scanCompleted(durationNanos, classes);
+    }
+
+    @Override
+    public void specificationRendered(String specification, SpecificationFormat format, int size) {
+        getStatistics(specification).specificationRendered(format, size);
+    }
+
+    @Override
+    public void cacheHit(String specification) {
+        getStatistics(specification).cacheHit();
+    }
+
+    @Override
+    public void cacheMiss(String specification) {
+        getStatistics(specification).cacheMiss();
+    }
+
+    @Override
+    public void waited(String specification, long durationNanos) {
+        getStatistics(specification).waited(durationNanos);
+    }
+
+    @Override
+    public void requestServed(String specification, int status, long durationNanos) {
+        getStatistics(specification).requestServed(durationNanos);
+    }
+
+    @Override
+    public void requestFailed(String specification, Throwable cause) {
+        getStatistics(specification).requestFailed();
+    }
+
+    SpecificationStatistics getStatistics(String specification) {
+        SpecificationStatistics specificationStatistics = statistics.get(specification);
+
+        if (specificationStatistics == null) {
+            specificationStatistics = statistics.computeIfAbsent(specification, this::register);
+        }
+
+        return specificationStatistics;
+    }
+
+    private SpecificationStatistics register(String specification) {
+        SpecificationStatistics specificationStatistics = new SpecificationStatistics();
+
+        try {
+            ObjectName name = new ObjectName("com.kumuluz.ee.swagger:type=Specification,name=" +
+                    ObjectName.quote(specification));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(specificationStatistics, name);
+        } catch (JMException e) {
+            LOG.warning("Unable to register Swagger metrics of " + specification + " with JMX: " + e.getMessage());
+        }
+
+        return specificationStatistics;
+    }
+}
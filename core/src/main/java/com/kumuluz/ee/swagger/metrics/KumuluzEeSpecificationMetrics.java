@@ -0,0 +1,60 @@
+package com.kumuluz.ee.swagger.metrics;
+
+import com.kumuluz.ee.metrics.producers.MetricRegistryProducer;
+import com.kumuluz.ee.swagger.cache.SpecificationFormat;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KumuluzEeSpecificationMetrics class - publishes metrics to the application registry of KumuluzEE Metrics.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class KumuluzEeSpecificationMetrics implements SpecificationMetrics {
+
+    private static final String PREFIX = "kumuluzee.swagger.";
+
+    private final MetricRegistry registry = MetricRegistryProducer.getApplicationRegistry();
+
+    @Override
+    public void scanCompleted(String specification, long durationNanos, int classes) {
+        registry.timer(name(specification, "scan.duration")).update(durationNanos, TimeUnit.NANOSECONDS);
+        registry.histogram(name(specification, "scan.classes")).update(classes);
+    }
+
+    @Override
+    public void specificationRendered(String specification, SpecificationFormat format, int size) {
+        registry.histogram(name(specification, "size." + format.getExtension())).update(size);
+    }
+
+    @Override
+    public void cacheHit(String specification) {
+        registry.counter(name(specification, "cache.hits")).inc();
+    }
+
+    @Override
+    public void cacheMiss(String specification) {
+        registry.counter(name(specification, "cache.misses")).inc();
+    }
+
+    @Override
+    public void waited(String specification, long durationNanos) {
+        registry.timer(name(specification, "wait")).update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void requestServed(String specification, int status, long durationNanos) {
+        registry.timer(name(specification, "requests")).update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void requestFailed(String specification, Throwable cause) {
+        registry.counter(name(specification, "errors")).inc();
+    }
+
+    private static String name(String specification, String metric) {
+        return PREFIX + specification + "." + metric;
+    }
+}
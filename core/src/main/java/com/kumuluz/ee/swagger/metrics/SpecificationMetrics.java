@@ -0,0 +1,62 @@
+package com.kumuluz.ee.swagger.metrics;
+
+import com.kumuluz.ee.swagger.cache.SpecificationFormat;
+
+/**
+ * SpecificationMetrics interface - SPI for collecting metrics of API specification generation and serving. Custom
+ * implementations are registered with the {@link java.util.ServiceLoader} mechanism. All methods are called on hot
+ * paths and must not block.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public interface SpecificationMetrics {
+
+    /**
+     * Called when resources of the specification were scanned and read.
+     *
+     * @param specification specification key
+     * @param durationNanos duration of the scan in nanoseconds
+     * @param classes       number of classes read
+     */
+    default void scanCompleted(String specification, long durationNanos, int classes) {
+    }
+
+    /**
+     * Called when the specification was rendered to the given format.
+     *
+     * @param specification specification key
+     * @param format        format of the specification
+     * @param size          size of the rendered specification in bytes
+     */
+    default void specificationRendered(String specification, SpecificationFormat format, int size) {
+    }
+
+    default void cacheHit(String specification) {
+    }
+
+    default void cacheMiss(String specification) {
+    }
+
+    /**
+     * Called when a request waited for the specification, which was being scanned by another thread.
+     *
+     * @param specification specification key
+     * @param durationNanos wait time in nanoseconds
+     */
+    default void waited(String specification, long durationNanos) {
+    }
+
+    /**
+     * Called when a request for the specification was served, regardless of the response status.
+     *
+     * @param specification specification key
+     * @param status        response status
+     * @param durationNanos serve latency in nanoseconds
+     */
+    default void requestServed(String specification, int status, long durationNanos) {
+    }
+
+    default void requestFailed(String specification, Throwable cause) {
+    }
+}
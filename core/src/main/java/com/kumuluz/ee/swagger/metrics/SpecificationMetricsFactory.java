@@ -0,0 +1,70 @@
+package com.kumuluz.ee.swagger.metrics;
+
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.logging.Logger;
+
+/**
+ * SpecificationMetricsFactory class - resolves the metrics implementation. Implementations registered with the
+ * {@link ServiceLoader} take precedence, followed by KumuluzEE Metrics, if present, and JMX.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationMetricsFactory {
+
+    private static final Logger LOG = Logger.getLogger(SpecificationMetricsFactory.class.getName());
+
+    private static final String KUMULUZEE_METRICS_CLASS = "com.kumuluz.ee.metrics.producers.MetricRegistryProducer";
+
+    private static volatile SpecificationMetrics instance;
+
+    private SpecificationMetricsFactory() {
+    }
+
+    public static SpecificationMetrics getInstance() {
+        if (instance == null) {
+            synchronized (SpecificationMetricsFactory.class) {
+                if (instance == null) {
+                    instance = createInstance();
+                }
+            }
+        }
+
+        return instance;
+    }
+
+    private static SpecificationMetrics createInstance() {
+        if (!ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.metrics.enabled").orElse(true)) {
+            return new SpecificationMetrics() {
+            };
+        }
+
+        Iterator<SpecificationMetrics> implementations = ServiceLoader.load(SpecificationMetrics.class).iterator();
+
+        if (implementations.hasNext()) {
+            SpecificationMetrics metrics = implementations.next();
+            LOG.info("Using " + metrics.getClass().getName() + " for Swagger metrics.");
+            return metrics;
+        }
+
+        if (isKumuluzEeMetricsAvailable()) {
+            LOG.info("Publishing Swagger metrics to KumuluzEE Metrics.");
+            return new KumuluzEeSpecificationMetrics();
+        }
+
+        LOG.info("Publishing Swagger metrics to JMX.");
+        return new JmxSpecificationMetrics();
+    }
+
+    private static boolean isKumuluzEeMetricsAvailable() {
+        try {
+            Class.forName(KUMULUZEE_METRICS_CLASS, false, SpecificationMetricsFactory.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.kumuluz.ee.swagger.metrics;
+
+import com.kumuluz.ee.swagger.cache.SpecificationFormat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SpecificationStatistics class - lock-free metrics of a single API specification, exposed through JMX.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationStatistics implements SpecificationStatisticsMXBean {
+
+    // upper bounds of latency buckets in microseconds, the last bucket is unbounded
+    private static final long[] LATENCY_BUCKETS = {100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000,
+            250000, 1000000};
+
+    private final LongAdder scans = new LongAdder();
+    private volatile long lastScanDurationNanos;
+    private volatile int lastScanClasses;
+    private final ConcurrentMap<SpecificationFormat, Integer> sizes = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder requestErrors = new LongAdder();
+    private final LongAdder requestNanos = new LongAdder();
+    private final LongAccumulator maxRequestNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS.length + 1);
+
+    void scanCompleted(long durationNanos, int classes) {
+        scans.increment();
+        lastScanDurationNanos = durationNanos;
+        lastScanClasses = classes;
+    }
+
+    void specificationRendered(SpecificationFormat format, int size) {
+        sizes.put(format, size);
+    }
+
+    void cacheHit() {
+        cacheHits.increment();
+    }
+
+    void cacheMiss() {
+        cacheMisses.increment();
+    }
+
+    void waited(long durationNanos) {
+        waits.increment();
+        waitNanos.add(durationNanos);
+    }
+
+    void requestServed(long durationNanos) {
+        requests.increment();
+        requestNanos.add(durationNanos);
+        maxRequestNanos.accumulate(durationNanos);
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKETS.length && micros > LATENCY_BUCKETS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    void requestFailed() {
+        requestErrors.increment();
+    }
+
+    @Override
+    public long getScanCount() {
+        return scans.sum();
+    }
+
+    @Override
+    public long getLastScanDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastScanDurationNanos);
+    }
+
+    @Override
+    public int getLastScanClasses() {
+        return lastScanClasses;
+    }
+
+    @Override
+    public Map<String, Integer> getSpecificationSizes() {
+        Map<String, Integer> result = new TreeMap<>();
+        sizes.forEach((format, size) -> result.put(format.getExtension(), size));
+        return result;
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public long getWaitCount() {
+        return waits.sum();
+    }
+
+    @Override
+    public long getWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getRequestErrors() {
+        return requestErrors.sum();
+    }
+
+    @Override
+    public double getMeanRequestLatencyMillis() {
+        long count = requests.sum();
+        return count == 0 ? 0 : requestNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public long getMaxRequestLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxRequestNanos.get());
+    }
+
+    @Override
+    public Map<String, Long> getRequestLatencyHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+
+        for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+            histogram.put("le_" + LATENCY_BUCKETS[i] + "us", latencyHistogram.get(i));
+        }
+        histogram.put("le_inf", latencyHistogram.get(LATENCY_BUCKETS.length));
+
+        return histogram;
+    }
+}
@@ -0,0 +1,41 @@
+package com.kumuluz.ee.swagger.metrics;
+
+import java.util.Map;
+
+/**
+ * SpecificationStatisticsMXBean interface - JMX view of API specification metrics.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public interface SpecificationStatisticsMXBean {
+
+    long getScanCount();
+
+    long getLastScanDurationMillis();
+
+    int getLastScanClasses();
+
+    Map<String, Integer> getSpecificationSizes();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    long getWaitCount();
+
+    long getWaitTimeMillis();
+
+    long getRequestCount();
+
+    long getRequestErrors();
+
+    double getMeanRequestLatencyMillis();
+
+    long getMaxRequestLatencyMillis();
+
+    /**
+     * Returns number of requests per latency bucket, keyed by upper bound of the bucket.
+     */
+    Map<String, Long> getRequestLatencyHistogram();
+}
@@ -19,8 +19,12 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
 import javax.ws.rs.ApplicationPath;
 import javax.ws.rs.Path;
 import java.io.IOException;
@@ -37,11 +41,13 @@ import java.util.stream.Collectors;
 public class JaxRsSwaggerAnnotationProcessor extends AbstractProcessor {
     private static final Logger LOG = Logger.getLogger(JaxRsSwaggerAnnotationProcessor.class.getName());
 
-    private Set<String> applicationElementNames = new HashSet<>();
-    private Set<String> resourceElementNames = new HashSet<>();
-    private Set<String> swaggerElementNames = new HashSet<>();
+    private Set<String> applicationElementNames = new TreeSet<>();
+    private Set<String> resourceElementNames = new TreeSet<>();
+    // definitions are kept in the order they are found, the last one takes precedence
+    private Set<String> swaggerElementNames = new LinkedHashSet<>();
 
     private Filer filer;
+    private boolean jaxRsAvailable;
 
     @Override
     public SourceVersion getSupportedSourceVersion() {
@@ -50,188 +56,366 @@ public class JaxRsSwaggerAnnotationProcessor extends AbstractProcessor {
 
     @Override
     public Set<String> getSupportedAnnotationTypes() {
-        return Collections.singleton("*");
+        return new HashSet<>(Arrays.asList("javax.ws.rs.Path", "javax.ws.rs.ApplicationPath",
+                "io.swagger.annotations.SwaggerDefinition"));
     }
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
         super.init(processingEnv);
         filer = processingEnv.getFiler();
-    }
-
-    @Override
-    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-        Set<? extends Element> swaggerElements;
-        Set<? extends Element> jaxRSElements;
-        Set<? extends Element> resourceElements;
 
         try {
             Class.forName("javax.ws.rs.core.Application");
+            jaxRsAvailable = true;
         } catch (ClassNotFoundException e) {
             LOG.info("javax.ws.rs.core.Application not found, skipping JAX-RS Swagger annotation processing");
+        }
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!jaxRsAvailable) {
             return false;
         }
 
-        resourceElements = roundEnv.getElementsAnnotatedWith(Path.class);
-        resourceElements.forEach(e -> getElementPackage(resourceElementNames, e));
+        // outputs are written once, after all rounds have been collected
+        if (roundEnv.processingOver()) {
+            writeOutputs();
+            return false;
+        }
 
-        swaggerElements = roundEnv.getElementsAnnotatedWith(SwaggerDefinition.class);
-        swaggerElements.forEach(e -> getElementName(swaggerElementNames, e, processingEnv.getTypeUtils()));
+        roundEnv.getElementsAnnotatedWith(Path.class).forEach(e -> getTypeName(resourceElementNames, e));
 
-        jaxRSElements = roundEnv.getElementsAnnotatedWith(ApplicationPath.class);
-        jaxRSElements.forEach(e -> getElementName(applicationElementNames, e, processingEnv
-                .getTypeUtils()));
+        roundEnv.getElementsAnnotatedWith(SwaggerDefinition.class).forEach(e -> getTypeName(swaggerElementNames, e));
 
-        SwaggerConfiguration config = new SwaggerConfiguration();
+        roundEnv.getElementsAnnotatedWith(ApplicationPath.class).forEach(e -> getElementName(applicationElementNames, e,
+                processingEnv.getTypeUtils()));
 
-        if (jaxRSElements.size() == 1) {
-            Swagger swagger = new Swagger();
-            io.swagger.models.Info info = new io.swagger.models.Info();
+        return false;
+    }
 
-            for (Element element : swaggerElements) {
+    private void writeOutputs() {
+        if (applicationElementNames.isEmpty()) {
+            return;
+        }
 
-                SwaggerDefinition swaggerDefinitionAnnotation = element.getAnnotation(SwaggerDefinition.class);
+        List<TypeElement> applicationElements = getTypeElements(applicationElementNames);
+        List<TypeElement> resourceElements = getTypeElements(resourceElementNames);
+        List<TypeElement> swaggerElements = getTypeElements(swaggerElementNames);
 
-                if (swaggerDefinitionAnnotation != null) {
+        // each application is given only its own resources, attributed by package
+        Map<TypeElement, Set<TypeElement>> applicationResources = new LinkedHashMap<>();
+        applicationElements.forEach(a -> applicationResources.put(a, new LinkedHashSet<>()));
+        List<TypeElement> unattributed = new ArrayList<>();
 
-                    config.setSwaggerDefinitionClass(element.toString());
+        for (TypeElement resourceElement : resourceElements) {
+            TypeElement owner = getOwner(resourceElement, applicationElements);
 
-                    info.setTitle(swaggerDefinitionAnnotation.info().title());
-                    info.setVersion(swaggerDefinitionAnnotation.info().version());
+            if (owner != null) {
+                applicationResources.get(owner).add(resourceElement);
+            } else {
+                unattributed.add(resourceElement);
+            }
+        }
 
-                    Contact contact = null;
-                    if (!swaggerDefinitionAnnotation.info().contact().email().equals("")) {
-                        contact = new Contact();
-                        contact.setEmail(swaggerDefinitionAnnotation.info().contact().email());
-                    }
-                    if (!swaggerDefinitionAnnotation.info().contact().name().equals("")) {
-                        if (contact == null) contact = new Contact();
-                        contact.setName(swaggerDefinitionAnnotation.info().contact().name());
-                    }
-                    if (!swaggerDefinitionAnnotation.info().contact().url().equals("")) {
-                        if (contact == null) contact = new Contact();
-                        contact.setUrl(swaggerDefinitionAnnotation.info().contact().url());
-                    }
-                    info.setContact(contact);
+        if (!unattributed.isEmpty()) {
+            List<TypeElement> selectingApplications = applicationElements.stream()
+                    .filter(this::selectsResources).collect(Collectors.toList());
+
+            if (selectingApplications.isEmpty()) {
+                // resource is not left out of the specifications, it is included in all of them as before
+                for (TypeElement resourceElement : unattributed) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Resource " +
+                            resourceElement + " can not be attributed to one of the JAX-RS applications " +
+                            applicationElements + " and is included in specifications of all of them. Place it in " +
+                            "the package of its application (or a subpackage) or list resources in " +
+                            "Application.getClasses().", resourceElement);
+                }
+                selectingApplications = applicationElements;
+            }
 
-                    if (!swaggerDefinitionAnnotation.info().description().equals("")) {
-                        info.setDescription(swaggerDefinitionAnnotation.info().description());
-                    }
+            // applications which list their resources select them at runtime
+            selectingApplications.forEach(a -> applicationResources.get(a).addAll(unattributed));
+        }
 
-                    License license = null;
-                    if (!swaggerDefinitionAnnotation.info().license().name().equals("")) {
-                        license = new License();
-                        license.setName(swaggerDefinitionAnnotation.info().license().name());
-                    }
-                    if (!swaggerDefinitionAnnotation.info().license().url().equals("")) {
-                        if (license == null) license = new License();
-                        license.setUrl(swaggerDefinitionAnnotation.info().license().url());
-                    }
+        for (TypeElement applicationElement : applicationElements) {
+            writeConfiguration(applicationElement, getDefinition(applicationElement, applicationElements,
+                    swaggerElements), applicationResources.get(applicationElement), applicationResources);
+        }
 
-                    info.setLicense(license);
+        try {
+            AnnotationProcessorUtil.writeFileSet(applicationElementNames, "META-INF/services/javax.ws.rs.core.Application", filer);
+        } catch (IOException e) {
+            LOG.warning(e.getMessage());
+        }
+    }
 
-                    if (!swaggerDefinitionAnnotation.info().termsOfService().equals("")) {
-                        info.setTermsOfService(swaggerDefinitionAnnotation.info().termsOfService());
-                    }
+    private List<TypeElement> getTypeElements(Set<String> names) {
+        Elements elements = processingEnv.getElementUtils();
+        return names.stream().map(elements::getTypeElement).filter(Objects::nonNull).collect(Collectors.toList());
+    }
 
-                    swagger.setInfo(info);
-
-                    List<Scheme> schemes = Arrays.stream(swaggerDefinitionAnnotation.schemes()).map(s -> {
-                        Scheme scheme = null;
-
-                        switch (s.ordinal()) {
-                            case 1:
-                                scheme = Scheme.HTTP;
-                                break;
-                            case 2:
-                                scheme = Scheme.HTTPS;
-                                break;
-                            case 3:
-                                scheme = Scheme.WS;
-                                break;
-                            case 4:
-                                scheme = Scheme.WSS;
-                                break;
-                            default:
-                                scheme = Scheme.HTTP;
-                                break;
-                        }
-
-                        return scheme;
-                    }).collect(Collectors.toList());
-
-                    if (schemes.size() == 0) {
-                        schemes.add(Scheme.HTTP);
-                    }
+    /**
+     * Returns the application in whose package (or its subpackage) the given element is, the one with the most
+     * specific package if there are several, or null, if the element can not be attributed to a single application.
+     */
+    private TypeElement getOwner(TypeElement element, List<TypeElement> applicationElements) {
+        if (applicationElements.size() == 1) {
+            return applicationElements.get(0);
+        }
 
-                    swagger.setSchemes(schemes);
-                    swagger.setHost(swaggerDefinitionAnnotation.host());
+        Elements elements = processingEnv.getElementUtils();
+        String elementPackage = elements.getPackageOf(element).getQualifiedName().toString();
 
-                    config.setSwagger(swagger);
+        TypeElement owner = null;
+        int ownerPackageLength = -1;
+        boolean ambiguous = false;
 
-                    if (applicationElementNames.size() == 1) {
-                        Set<String> swaggerElementPackages = new HashSet<>();
+        for (TypeElement applicationElement : applicationElements) {
+            String applicationPackage = elements.getPackageOf(applicationElement).getQualifiedName().toString();
 
-                        for (String ele : swaggerElementNames) {
-                            swaggerElementPackages.add(ele.substring(0, ele.lastIndexOf('.')));
-                        }
+            if (applicationPackage.isEmpty() || elementPackage.equals(applicationPackage) ||
+                    elementPackage.startsWith(applicationPackage + ".")) {
+                if (applicationPackage.length() > ownerPackageLength) {
+                    owner = applicationElement;
+                    ownerPackageLength = applicationPackage.length();
+                    ambiguous = false;
+                } else if (applicationPackage.length() == ownerPackageLength) {
+                    ambiguous = true;
+                }
+            }
+        }
 
-                        swaggerElementPackages.addAll(resourceElementNames);
+        return ambiguous ? null : owner;
+    }
 
-                        config.getResourcePackages().addAll(swaggerElementPackages);
-                    }
+    /**
+     * Returns whether the application overrides getClasses() or getSingletons(), so that its resources are selected
+     * at runtime.
+     */
+    private boolean selectsResources(TypeElement applicationElement) {
+        for (TypeElement type = applicationElement; type != null &&
+                !type.getQualifiedName().contentEquals("javax.ws.rs.core.Application");
+             type = (TypeElement) processingEnv.getTypeUtils().asElement(type.getSuperclass())) {
+
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (method.getParameters().isEmpty() && (method.getSimpleName().contentEquals("getClasses") ||
+                        method.getSimpleName().contentEquals("getSingletons"))) {
+                    return true;
                 }
             }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the Swagger definition of the application: the last one found among those attributed to it, i.e. on its
+     * class or in its package. With a single application, all definitions are attributed to it.
+     */
+    private TypeElement getDefinition(TypeElement applicationElement, List<TypeElement> applicationElements,
+                                      List<TypeElement> swaggerElements) {
+        List<TypeElement> definitions = swaggerElements.stream()
+                .filter(d -> applicationElements.contains(d) ? d == applicationElement :
+                        getOwner(d, applicationElements) == applicationElement)
+                .collect(Collectors.toList());
+
+        if (definitions.isEmpty()) {
+            return null;
+        }
 
-            for (Element element : jaxRSElements) {
+        TypeElement definition = definitions.get(definitions.size() - 1);
 
-                ApplicationPath applicationPathAnnotation = element.getAnnotation(ApplicationPath.class);
+        if (definitions.size() > 1) {
+            LOG.warning("Multiple Swagger definitions found for " + applicationElement + ", using " + definition +
+                    ".");
+        }
+
+        return definition;
+    }
 
-                if (applicationPathAnnotation != null) {
-                    config.setApplicationClass(element.toString());
-                    swagger.setBasePath(applicationPathAnnotation.value());
+    private void writeConfiguration(TypeElement applicationElement, TypeElement definitionElement,
+                                    Set<TypeElement> resourceElements,
+                                    Map<TypeElement, Set<TypeElement>> applicationResources) {
+        SwaggerConfiguration config = new SwaggerConfiguration();
+        Swagger swagger = new Swagger();
+        io.swagger.models.Info info = new io.swagger.models.Info();
+        Elements elements = processingEnv.getElementUtils();
+
+        if (definitionElement != null) {
+
+            SwaggerDefinition swaggerDefinitionAnnotation = definitionElement.getAnnotation(SwaggerDefinition.class);
+
+            if (swaggerDefinitionAnnotation != null) {
+
+                config.setSwaggerDefinitionClass(definitionElement.toString());
+
+                info.setTitle(swaggerDefinitionAnnotation.info().title());
+                info.setVersion(swaggerDefinitionAnnotation.info().version());
+
+                Contact contact = null;
+                if (!swaggerDefinitionAnnotation.info().contact().email().equals("")) {
+                    contact = new Contact();
+                    contact.setEmail(swaggerDefinitionAnnotation.info().contact().email());
+                }
+                if (!swaggerDefinitionAnnotation.info().contact().name().equals("")) {
+                    if (contact == null) contact = new Contact();
+                    contact.setName(swaggerDefinitionAnnotation.info().contact().name());
+                }
+                if (!swaggerDefinitionAnnotation.info().contact().url().equals("")) {
+                    if (contact == null) contact = new Contact();
+                    contact.setUrl(swaggerDefinitionAnnotation.info().contact().url());
                 }
+                info.setContact(contact);
 
-                if (swagger.getBasePath() == null || swagger.getBasePath().equals("")) {
-                    LOG.warning("Unable to obtain API Base path. Provide @ApplicationPath.");
+                if (!swaggerDefinitionAnnotation.info().description().equals("")) {
+                    info.setDescription(swaggerDefinitionAnnotation.info().description());
                 }
-            }
 
-            try {
-                ObjectMapper mapper = new ObjectMapper();
-                mapper.enable(SerializationFeature.INDENT_OUTPUT);
-                mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-                String jsonOAC = mapper.writeValueAsString(config);
+                License license = null;
+                if (!swaggerDefinitionAnnotation.info().license().name().equals("")) {
+                    license = new License();
+                    license.setName(swaggerDefinitionAnnotation.info().license().name());
+                }
+                if (!swaggerDefinitionAnnotation.info().license().url().equals("")) {
+                    if (license == null) license = new License();
+                    license.setUrl(swaggerDefinitionAnnotation.info().license().url());
+                }
+
+                info.setLicense(license);
+
+                if (!swaggerDefinitionAnnotation.info().termsOfService().equals("")) {
+                    info.setTermsOfService(swaggerDefinitionAnnotation.info().termsOfService());
+                }
+
+                swagger.setInfo(info);
+
+                List<Scheme> schemes = Arrays.stream(swaggerDefinitionAnnotation.schemes()).map(s -> {
+                    Scheme scheme = null;
+
+                    switch (s.ordinal()) {
+                        case 1:
+                            scheme = Scheme.HTTP;
+                            break;
+                        case 2:
+                            scheme = Scheme.HTTPS;
+                            break;
+                        case 3:
+                            scheme = Scheme.WS;
+                            break;
+                        case 4:
+                            scheme = Scheme.WSS;
+                            break;
+                        default:
+                            scheme = Scheme.HTTP;
+                            break;
+                    }
+
+                    return scheme;
+                }).collect(Collectors.toList());
 
-                String path = swagger.getBasePath();
+                if (schemes.size() == 0) {
+                    schemes.add(Scheme.HTTP);
+                }
+
+                swagger.setSchemes(schemes);
+                swagger.setHost(swaggerDefinitionAnnotation.host());
+
+                config.setSwagger(swagger);
 
-                path = StringUtils.strip(path, "/");
+                Set<String> swaggerElementPackages = new TreeSet<>();
+                swaggerElementPackages.add(elements.getPackageOf(definitionElement).getQualifiedName().toString());
 
-                if ("".equals(path)) {
-                    AnnotationProcessorUtil.writeFile(jsonOAC, "api-specs/swagger-configuration.json", filer);
-                } else {
-                    AnnotationProcessorUtil.writeFile(jsonOAC, "api-specs/" + path + "/swagger-configuration.json", filer);
+                for (TypeElement resourceElement : resourceElements) {
+                    if (resourceElement.getKind().equals(ElementKind.CLASS)) {
+                        swaggerElementPackages.add(elements.getPackageOf(resourceElement).getQualifiedName()
+                                .toString());
+                    }
                 }
-            } catch (IOException e) {
-                LOG.warning(e.getMessage());
+
+                warnAboutOverlappingPackages(applicationElement, swaggerElementPackages, applicationResources);
+
+                config.getResourcePackages().addAll(swaggerElementPackages);
+            }
+        }
+
+        ApplicationPath applicationPathAnnotation = applicationElement.getAnnotation(ApplicationPath.class);
+
+        if (applicationPathAnnotation != null) {
+            config.setApplicationClass(applicationElement.toString());
+            swagger.setBasePath(applicationPathAnnotation.value());
+        }
+
+        if (swagger.getBasePath() == null || swagger.getBasePath().equals("")) {
+            LOG.warning("Unable to obtain API Base path. Provide @ApplicationPath.");
+        }
+
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.enable(SerializationFeature.INDENT_OUTPUT);
+            mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+            String jsonOAC = mapper.writeValueAsString(config);
+
+            String path = swagger.getBasePath();
+
+            path = StringUtils.strip(path, "/");
+
+            if ("".equals(path)) {
+                AnnotationProcessorUtil.writeFile(jsonOAC, "api-specs/swagger-configuration.json", filer);
+            } else {
+                AnnotationProcessorUtil.writeFile(jsonOAC, "api-specs/" + path + "/swagger-configuration.json", filer);
             }
 
-            try {
-                AnnotationProcessorUtil.writeFileSet(applicationElementNames, "META-INF/services/javax.ws.rs.core.Application", filer);
-            } catch (IOException e) {
-                LOG.warning(e.getMessage());
+            // entries of previous compilations are kept, incremental compilation only processes changed classes
+            String index = "".equals(path) ? "api-specs/resources.idx" : "api-specs/" + path + "/resources.idx";
+            Set<String> indexedElementNames = new TreeSet<>();
+            for (TypeElement resourceElement : resourceElements) {
+                indexedElementNames.add(elements.getBinaryName(resourceElement).toString());
             }
+            if (definitionElement != null) {
+                indexedElementNames.add(elements.getBinaryName(definitionElement).toString());
+            }
+
+            AnnotationProcessorUtil.writeFileSet(indexedElementNames, index, filer);
+        } catch (IOException e) {
+            LOG.warning(e.getMessage());
         }
+    }
 
-        return false;
+    /**
+     * Resource packages are matched by prefix at runtime, resources of another application in them are only
+     * separated by the resource index.
+     */
+    private void warnAboutOverlappingPackages(TypeElement applicationElement, Set<String> packages,
+                                              Map<TypeElement, Set<TypeElement>> applicationResources) {
+        Elements elements = processingEnv.getElementUtils();
+
+        for (Map.Entry<TypeElement, Set<TypeElement>> entry : applicationResources.entrySet()) {
+            if (entry.getKey() == applicationElement) {
+                continue;
+            }
+
+            for (TypeElement resourceElement : entry.getValue()) {
+                String resourcePackage = elements.getPackageOf(resourceElement).getQualifiedName().toString();
+
+                if (packages.stream().anyMatch(resourcePackage::startsWith) &&
+                        !applicationResources.get(applicationElement).contains(resourceElement)) {
+                    LOG.warning("Resource packages of " + applicationElement + " include resource " +
+                            resourceElement + " of " + entry.getKey() + ". Resources are only separated when " +
+                            "they are read from the resource index.");
+                    return;
+                }
+            }
+        }
     }
 
-    private void getElementPackage(Set<String> jaxRsElementNames, Element e) {
+    private void getTypeName(Set<String> elementNames, Element e) {
 
         ElementKind elementKind = e.getKind();
 
-        if (elementKind.equals(ElementKind.CLASS)) {
-            jaxRsElementNames.add(e.toString().substring(0, e.toString().lastIndexOf(".")));
+        if (elementKind.equals(ElementKind.CLASS) || elementKind.equals(ElementKind.INTERFACE)) {
+            elementNames.add(((TypeElement) e).getQualifiedName().toString());
         }
     }
 
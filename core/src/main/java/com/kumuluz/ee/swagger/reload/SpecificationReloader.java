@@ -0,0 +1,107 @@
+package com.kumuluz.ee.swagger.reload;
+
+import com.kumuluz.ee.swagger.servlets.ApiListingServlet;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+
+/**
+ * SpecificationReloader class - re-scans API specifications of registered applications on demand. Reloads run on a
+ * single background thread, reload requested while another one for the same application is pending replaces it.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationReloader {
+
+    private static final Logger LOG = Logger.getLogger(SpecificationReloader.class.getName());
+
+    private static final SpecificationReloader INSTANCE = new SpecificationReloader();
+
+    private final ConcurrentMap<String, Registration> registrations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "kumuluzee-swagger-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SpecificationReloader() {
+    }
+
+    public static SpecificationReloader getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers application for reloading.
+     *
+     * @param application       application base path
+     * @param servletParameters init parameters of the application's {@link ApiListingServlet}
+     * @param reconfigure       re-reads configuration of the application before it is re-scanned
+     */
+    public void register(String application, Map<String, String> servletParameters, Runnable reconfigure) {
+        registrations.put(application, new Registration(servletParameters, reconfigure));
+    }
+
+    public boolean isRegistered(String application) {
+        return registrations.containsKey(application);
+    }
+
+    /**
+     * Reloads API specification of the application in the background.
+     *
+     * @return false, if the application is not registered
+     */
+    public boolean reload(String application) {
+        return reload(application, 0);
+    }
+
+    /**
+     * Reloads API specification of the application in the background after the given delay. Reloads requested in
+     * the meantime postpone it.
+     *
+     * @return false, if the application is not registered
+     */
+    public boolean reload(String application, long delayMillis) {
+        Registration registration = registrations.get(application);
+
+        if (registration == null) {
+            return false;
+        }
+
+        pending.compute(application, (a, scheduled) -> {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+
+            return executor.schedule(() -> reload(application, registration), delayMillis, TimeUnit.MILLISECONDS);
+        });
+
+        return true;
+    }
+
+    private void reload(String application, Registration registration) {
+        try {
+            registration.reconfigure.run();
+            ApiListingServlet.reload(registration.servletParameters, Runnable::run).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOG.warning("Unable to reload API specification of application '" + application + "': " +
+                    e.getMessage());
+        }
+    }
+
+    private static class Registration {
+
+        private final Map<String, String> servletParameters;
+        private final Runnable reconfigure;
+
+        Registration(Map<String, String> servletParameters, Runnable reconfigure) {
+            this.servletParameters = servletParameters;
+            this.reconfigure = reconfigure;
+        }
+    }
+}
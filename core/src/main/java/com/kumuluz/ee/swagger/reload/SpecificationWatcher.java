@@ -0,0 +1,116 @@
+package com.kumuluz.ee.swagger.reload;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.*;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * SpecificationWatcher class - watches classpath directories with configuration and resources of applications and
+ * reloads their API specifications on changes. Intended for development, where classes are compiled to directories.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationWatcher implements Runnable {
+
+    private static final Logger LOG = Logger.getLogger(SpecificationWatcher.class.getName());
+
+    private final WatchService watchService;
+    private final long delayMillis;
+    private final Map<WatchKey, String> applications = new ConcurrentHashMap<>();
+
+    public SpecificationWatcher(long delayMillis) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Starts watching the application.
+     *
+     * @param application application base path, as registered with {@link SpecificationReloader}
+     * @param resources   classpath directories to watch (e.g. api-specs/v1 or com/example/resources); resources which
+     *                    are not directories on the file system (e.g. packaged in a jar) are skipped
+     */
+    public void watch(String application, Collection<String> resources) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        for (String resource : resources) {
+            try {
+                Enumeration<URL> urls = classLoader.getResources(resource);
+
+                while (urls.hasMoreElements()) {
+                    URL url = urls.nextElement();
+
+                    if ("file".equals(url.getProtocol())) {
+                        registerTree(application, Paths.get(url.toURI()));
+                    }
+                }
+            } catch (IOException | URISyntaxException e) {
+                LOG.warning("Unable to watch " + resource + " for changes: " + e.getMessage());
+            }
+        }
+    }
+
+    private void registerTree(String application, Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (Stream<Path> directories = Files.walk(directory).filter(Files::isDirectory)) {
+            for (Path d : (Iterable<Path>) directories::iterator) {
+                WatchKey key = d.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                applications.put(key, application);
+            }
+        }
+    }
+
+    public void start() {
+        Thread thread = new Thread(this, "kumuluzee-swagger-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            String application = applications.get(key);
+
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && application != null) {
+                    // watch new subdirectories as well
+                    Path created = ((Path) key.watchable()).resolve((Path) event.context());
+                    try {
+                        registerTree(application, created);
+                    } catch (IOException e) {
+                        LOG.warning("Unable to watch " + created + " for changes: " + e.getMessage());
+                    }
+                }
+            }
+
+            if (application != null) {
+                LOG.fine("Change detected in " + key.watchable() + ", reloading API specification.");
+                // changes usually come in bursts (e.g. recompilation), reload once they settle
+                SpecificationReloader.getInstance().reload(application, delayMillis);
+            }
+
+            if (!key.reset()) {
+                applications.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.kumuluz.ee.swagger.scanner;
+
+import io.swagger.annotations.SwaggerDefinition;
+import io.swagger.jaxrs.config.BeanConfig;
+
+import javax.ws.rs.Path;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * IndexedBeanConfig class - bean config which reads resource classes from the index generated by the annotation
+ * processor at build time, instead of scanning resource packages on the classpath. Classes are selected the same way
+ * as by {@link BeanConfig}: types annotated with {@link Path} or {@link SwaggerDefinition}, in one of the resource
+ * packages.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class IndexedBeanConfig extends BeanConfig {
+
+    private static final Logger LOG = Logger.getLogger(IndexedBeanConfig.class.getName());
+
+    public static final String RESOURCE_INDEX = "resources.idx";
+
+    private final String index;
+
+    /**
+     * @param index class path resource of the index
+     */
+    public IndexedBeanConfig(String index) {
+        this.index = index;
+    }
+
+    /**
+     * Returns the class path resource of the index for the JAX-RS application with the given (stripped) path.
+     */
+    public static String getIndexResource(String applicationPath) {
+        return applicationPath.equals("") ? "api-specs/" + RESOURCE_INDEX :
+                "api-specs/" + applicationPath + "/" + RESOURCE_INDEX;
+    }
+
+    /**
+     * Returns resource classes listed in the index. Index is read on each invocation, so that classes are resolved
+     * again when the specification is reloaded.
+     */
+    @Override
+    public Set<Class<?>> classes() {
+        Set<Class<?>> classes = new HashSet<>();
+        ResourcePackages packages = new ResourcePackages(getResourcePackage());
+        ClassLoader classLoader = ResourcePackages.getClassLoader();
+
+        for (String className : readIndex(classLoader)) {
+            if (!packages.contains(className)) {
+                continue;
+            }
+
+            try {
+                Class<?> cls = Class.forName(className, false, classLoader);
+
+                // index may contain stale entries after incremental compilation
+                if (cls.isAnnotationPresent(Path.class) || cls.isAnnotationPresent(SwaggerDefinition.class)) {
+                    classes.add(cls);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOG.warning("Unable to load indexed resource class " + className + ": " + e.getMessage());
+            }
+        }
+
+        return classes;
+    }
+
+    private List<String> readIndex(ClassLoader classLoader) {
+        List<String> classNames = new ArrayList<>();
+
+        try (InputStream is = classLoader.getResourceAsStream(index)) {
+            if (is == null) {
+                LOG.warning("Resource index " + index + " not found.");
+                return classNames;
+            }
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    classNames.add(line);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warning("Unable to read resource index " + index + ": " + e.getMessage());
+        }
+
+        return classNames;
+    }
+}
@@ -0,0 +1,233 @@
+package com.kumuluz.ee.swagger.scanner;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.SwaggerDefinition;
+import io.swagger.jaxrs.config.BeanConfig;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+
+import javax.ws.rs.Path;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * JandexBeanConfig class - bean config which locates resource classes in Jandex indexes, without loading classes
+ * which are not resources. Indexes packaged as META-INF/jandex.idx are used where present, resource packages in other
+ * class path locations are indexed once. Indexes of jars are cached, since jars do not change at runtime.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class JandexBeanConfig extends BeanConfig {
+
+    private static final Logger LOG = Logger.getLogger(JandexBeanConfig.class.getName());
+
+    private static final String JANDEX_INDEX = "META-INF/jandex.idx";
+
+    private static final List<DotName> ANNOTATIONS = Arrays.asList(DotName.createSimple(Path.class.getName()),
+            DotName.createSimple(SwaggerDefinition.class.getName()), DotName.createSimple(Api.class.getName()));
+
+    private static final ConcurrentMap<String, IndexView> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Returns types in resource packages annotated with {@link Path}, {@link SwaggerDefinition} or {@link Api},
+     * together with their subtypes, as {@link BeanConfig} does.
+     */
+    @Override
+    public Set<Class<?>> classes() {
+        ClassLoader classLoader = ResourcePackages.getClassLoader();
+        ResourcePackages packages = new ResourcePackages(getResourcePackage());
+        IndexView index = getIndex(classLoader, packages.getPackages());
+
+        Set<DotName> names = new HashSet<>();
+        for (DotName annotation : ANNOTATIONS) {
+            for (AnnotationInstance instance : index.getAnnotations(annotation)) {
+                if (instance.target().kind() == AnnotationTarget.Kind.CLASS) {
+                    ClassInfo classInfo = instance.target().asClass();
+                    names.add(classInfo.name());
+
+                    boolean isInterface = Modifier.isInterface(classInfo.flags());
+                    for (ClassInfo subtype : isInterface ? index.getAllKnownImplementors(classInfo.name()) :
+                            index.getAllKnownSubclasses(classInfo.name())) {
+                        names.add(subtype.name());
+                    }
+                }
+            }
+        }
+
+        Set<Class<?>> classes = new HashSet<>();
+
+        for (DotName name : names) {
+            String className = name.toString();
+
+            if (packages.contains(className)) {
+                try {
+                    classes.add(Class.forName(className, false, classLoader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    LOG.warning("Unable to load resource class " + className + ": " + e.getMessage());
+                }
+            }
+        }
+
+        return classes;
+    }
+
+    private IndexView getIndex(ClassLoader classLoader, List<String> packages) {
+        List<IndexView> indexes = new ArrayList<>();
+        Set<String> indexedRoots = new HashSet<>();
+
+        try {
+            Enumeration<URL> jandexIndexes = classLoader.getResources(JANDEX_INDEX);
+
+            while (jandexIndexes.hasMoreElements()) {
+                URL url = jandexIndexes.nextElement();
+                String root = getRoot(url, JANDEX_INDEX);
+
+                IndexView index = readIndex(url, root);
+                if (index != null) {
+                    indexes.add(index);
+                    indexedRoots.add(root);
+                }
+            }
+
+            // locations of resource packages without a packaged index are indexed
+            for (String resourcePackage : packages.isEmpty() ? Collections.singletonList("") : packages) {
+                String packagePath = resourcePackage.replace('.', '/');
+                Enumeration<URL> locations = classLoader.getResources(packagePath);
+
+                while (locations.hasMoreElements()) {
+                    URL url = locations.nextElement();
+                    String root = getRoot(url, packagePath);
+
+                    if (!indexedRoots.contains(root)) {
+                        indexes.add(buildIndex(url, root, packagePath));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.warning("Unable to locate resource classes: " + e.getMessage());
+        }
+
+        return CompositeIndex.create(indexes);
+    }
+
+    private static IndexView readIndex(URL url, String root) {
+        if (isJar(url)) {
+            IndexView cached = CACHE.get(root);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        try (InputStream is = url.openStream()) {
+            Index index = new IndexReader(is).read();
+
+            if (isJar(url)) {
+                CACHE.putIfAbsent(root, index);
+            }
+
+            return index;
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.warning("Unable to read Jandex index " + url + ", classes will be indexed instead: " +
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private static IndexView buildIndex(URL url, String root, String packagePath) throws IOException {
+        boolean jar = isJar(url);
+        String key = root + "!" + packagePath;
+
+        if (jar) {
+            IndexView cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long start = System.nanoTime();
+        Indexer indexer = new Indexer();
+
+        if ("file".equals(url.getProtocol())) {
+            try (Stream<java.nio.file.Path> files = Files.walk(Paths.get(url.toURI()))) {
+                for (java.nio.file.Path file : (Iterable<java.nio.file.Path>) files
+                        .filter(f -> f.toString().endsWith(".class"))::iterator) {
+                    try (InputStream is = Files.newInputStream(file)) {
+                        indexer.index(is);
+                    }
+                }
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        } else if (jar) {
+            URLConnection connection = url.openConnection();
+            // cached jar file is shared with the class loader and must not be closed
+            connection.setUseCaches(false);
+
+            try (JarFile jarFile = ((JarURLConnection) connection).getJarFile()) {
+                String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+                Enumeration<JarEntry> entries = jarFile.entries();
+
+                while (entries.hasMoreElements()) {
+                    JarEntry entry = entries.nextElement();
+
+                    if (entry.getName().startsWith(prefix) && entry.getName().endsWith(".class")) {
+                        try (InputStream is = jarFile.getInputStream(entry)) {
+                            indexer.index(is);
+                        }
+                    }
+                }
+            }
+        } else {
+            LOG.warning("Unable to index classes in " + url + ", unsupported protocol.");
+        }
+
+        Index index = indexer.complete();
+        LOG.fine("Indexed " + index.getKnownClasses().size() + " classes in " + url + " in " +
+                (System.nanoTime() - start) / 1000000 + " ms.");
+
+        if (jar) {
+            CACHE.putIfAbsent(key, index);
+        }
+
+        return index;
+    }
+
+    private static boolean isJar(URL url) {
+        return "jar".equals(url.getProtocol());
+    }
+
+    /**
+     * Returns class path root of the given resource URL.
+     */
+    private static String getRoot(URL url, String resource) {
+        String location = url.toString();
+
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+
+        return location.endsWith(resource) ? location.substring(0, location.length() - resource.length()) : location;
+    }
+}
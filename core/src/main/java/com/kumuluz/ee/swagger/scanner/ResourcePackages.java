@@ -0,0 +1,55 @@
+package com.kumuluz.ee.swagger.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ResourcePackages class - resource packages of a bean config, matched by prefix, as in BeanConfig.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+final class ResourcePackages {
+
+    private final List<String> packages = new ArrayList<>();
+
+    ResourcePackages(String resourcePackage) {
+        if (resourcePackage != null) {
+            for (String name : resourcePackage.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    packages.add(name.trim());
+                }
+            }
+        }
+    }
+
+    List<String> getPackages() {
+        return packages;
+    }
+
+    /**
+     * Returns whether the class with the given name is in one of the packages or their subpackages. All classes are
+     * accepted when no packages are set.
+     */
+    boolean contains(String className) {
+        if (packages.isEmpty()) {
+            return true;
+        }
+
+        String classPackage = className.lastIndexOf('.') == -1 ? "" :
+                className.substring(0, className.lastIndexOf('.'));
+
+        for (String resourcePackage : packages) {
+            if (classPackage.startsWith(resourcePackage)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ResourcePackages.class.getClassLoader();
+    }
+}
@@ -1,32 +1,51 @@
 package com.kumuluz.ee.swagger.servlets;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+import com.kumuluz.ee.swagger.cache.RenderedSpecification;
+import com.kumuluz.ee.swagger.cache.SpecificationCache;
+import com.kumuluz.ee.swagger.cache.SpecificationContent;
+import com.kumuluz.ee.swagger.cache.SpecificationDiskCache;
+import com.kumuluz.ee.swagger.cache.SpecificationFormat;
+import com.kumuluz.ee.swagger.filter.CacheableSpecFilter;
+import com.kumuluz.ee.swagger.filter.FilterInputs;
+import com.kumuluz.ee.swagger.index.SpecificationIndex;
+import com.kumuluz.ee.swagger.metrics.SpecificationMetrics;
+import com.kumuluz.ee.swagger.metrics.SpecificationMetricsFactory;
+import com.kumuluz.ee.swagger.reload.SpecificationReloader;
+import com.kumuluz.ee.swagger.utils.HttpUtil;
+import io.swagger.config.FilterFactory;
 import io.swagger.config.Scanner;
 import io.swagger.config.SwaggerConfig;
+import io.swagger.core.filter.SwaggerSpecFilter;
 import io.swagger.jaxrs.Reader;
 import io.swagger.jaxrs.config.JaxrsScanner;
 import io.swagger.jaxrs.config.ReaderConfigUtils;
 import io.swagger.jaxrs.config.SwaggerContextService;
-import io.swagger.jaxrs.listing.ApiListingResource;
 import io.swagger.jaxrs.listing.SwaggerSerializers;
 import io.swagger.models.Swagger;
 import io.swagger.util.Json;
-import io.swagger.util.Yaml;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.*;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * ApiListingServlet class.
@@ -37,118 +56,200 @@ import java.util.concurrent.ConcurrentMap;
 @WebServlet("/swagger.*")
 public class ApiListingServlet extends HttpServlet {
 
-    private static volatile boolean initialized = false;
-    private static ConcurrentMap<String, Boolean> initializedScanner = new ConcurrentHashMap();
-    private static ConcurrentMap<String, Boolean> initializedConfig = new ConcurrentHashMap();
+    public static final String PREBUILT_SPECIFICATION_PARAM = "kumuluzee.swagger.prebuilt-specification";
+    public static final String FINGERPRINT_PARAM = "kumuluzee.swagger.fingerprint";
+
+    private static final String PATHS_PREFIX = "/paths/";
+    private static final String RELOAD_PATH = "/reload";
+    private static final String HASH_PATH = "/swagger.hash";
+    private static final String RELOAD_TOKEN_HEADER = "X-Reload-Token";
+    private static final String JETTY_OUTPUT_CLASS = "org.eclipse.jetty.server.HttpOutput";
+    private static final boolean JETTY_OUTPUT_AVAILABLE = isJettyOutputAvailable();
+
     private static Logger LOGGER = LoggerFactory.getLogger(ApiListingServlet.class);
 
-    private static synchronized Swagger scan(Application app, ServletContext context, ServletConfig sc,
-                                             String basePath) {
+    private String cacheControl;
+    private boolean cacheEnabled;
+    private boolean compression;
+    private boolean warmupEnabled;
+    private long warmupMaxWait;
+    private int warmupRetryAfter;
+    private SwaggerSpecFilter filter;
+    private int viewsCacheSize;
+    private boolean prettyPrint;
+    private boolean reloadEnabled;
+    private byte[] reloadToken;
+    private boolean lowMemory;
+    private boolean directBuffers;
+
+    @Override
+    public void init(ServletConfig config) throws ServletException {
+        super.init(config);
+
+        cacheControl = ConfigurationUtil.getInstance().get("kumuluzee.swagger.cache-control").orElse("no-cache");
+        if (cacheControl.trim().isEmpty()) {
+            cacheControl = null;
+        }
+
+        cacheEnabled = ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.cache.enabled").orElse(true);
+        compression = ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.compression.enabled").orElse(true);
+        warmupEnabled = ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.warmup.enabled").orElse(false);
+        warmupMaxWait = ConfigurationUtil.getInstance().getLong("kumuluzee.swagger.warmup.max-wait").orElse(0L);
+        warmupRetryAfter = ConfigurationUtil.getInstance().getInteger("kumuluzee.swagger.warmup.retry-after")
+                .orElse(5);
+
+        prettyPrint = ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.pretty-print").orElse(true);
+        reloadEnabled = ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.reload.enabled").orElse(false);
+        reloadToken = ConfigurationUtil.getInstance().get("kumuluzee.swagger.reload.token")
+                .filter(token -> !token.isEmpty())
+                .map(token -> token.getBytes(StandardCharsets.UTF_8))
+                .orElse(null);
+        if (reloadEnabled && reloadToken == null) {
+            LOGGER.warn("API specification reload is enabled, but kumuluzee.swagger.reload.token is not set. " +
+                    "Reload requests will be rejected.");
+        }
+        filter = createFilter();
+        viewsCacheSize = ConfigurationUtil.getInstance().getInteger("kumuluzee.swagger.views.cache-size")
+                .orElse(32);
+        lowMemory = ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.low-memory.enabled").orElse(false);
+        directBuffers = ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.low-memory.direct-buffers")
+                .orElse(false);
+    }
+
+    private static SwaggerSpecFilter createFilter() throws ServletException {
+        Optional<String> filterClass = ConfigurationUtil.getInstance().get("kumuluzee.swagger.filter.class");
+
+        if (!filterClass.isPresent()) {
+            return FilterFactory.getFilter();
+        }
+
+        try {
+            return (SwaggerSpecFilter) Class.forName(filterClass.get(), true,
+                    Thread.currentThread().getContextClassLoader()).newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new ServletException("Unable to instantiate API specification filter " + filterClass.get(), e);
+        }
+    }
+
+    private static Swagger scan(Application app, ServletContext context, ServletConfig sc, String basePath) {
+        return scan(app, context, sc, basePath, false);
+    }
+
+    /**
+     * @param fresh whether resources are read into a new specification instead of the one kept by Swagger context,
+     *              so that removed resources are dropped
+     */
+    private static Swagger scan(Application app, ServletContext context, ServletConfig sc, String basePath,
+                                boolean fresh) {
+        long start = System.nanoTime();
         Swagger swagger = null;
-        SwaggerContextService ctxService = (new SwaggerContextService()).withServletConfig(sc).withBasePath(basePath);
+        SwaggerContextService ctxService = getContextService(sc, basePath);
         Scanner scanner = ctxService.getScanner();
         if (scanner != null) {
-            SwaggerSerializers.setPrettyPrint(scanner.getPrettyPrint());
-            swagger = (new SwaggerContextService()).withServletConfig(sc).withBasePath(basePath).getSwagger();
-            Set classes;
-            if (scanner instanceof JaxrsScanner) {
-                JaxrsScanner jaxrsScanner = (JaxrsScanner) scanner;
-                classes = jaxrsScanner.classesFromContext(app, sc);
-            } else {
-                classes = scanner.classes();
-            }
-
-            if (classes != null) {
-                Reader reader = new Reader(swagger, ReaderConfigUtils.getReaderConfig(context));
-                swagger = reader.read(classes);
-                if (scanner instanceof SwaggerConfig) {
-                    swagger = ((SwaggerConfig) scanner).configure(swagger);
+            // scans with the same scanner are serialized, reload reconfigures it (see SwaggerExtension)
+            synchronized (scanner) {
+                SwaggerSerializers.setPrettyPrint(scanner.getPrettyPrint());
+                // in low-memory mode, resources are read into a model of our own, which is not shared with the Swagger
+                // context and is released after rendering
+                boolean shared = !ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.low-memory.enabled")
+                        .orElse(false);
+                swagger = fresh || !shared ? new Swagger() : getContextService(sc, basePath).getSwagger();
+                // reload reads the resources again, prebuilt specification would be served unchanged
+                Swagger prebuiltSwagger = fresh ? null : readPrebuiltSpecification(sc);
+                Set classes = null;
+                if (prebuiltSwagger != null) {
+                    swagger = prebuiltSwagger;
+                } else if (scanner instanceof JaxrsScanner) {
+                    JaxrsScanner jaxrsScanner = (JaxrsScanner) scanner;
+                    classes = jaxrsScanner.classesFromContext(app, sc);
                 } else {
-                    SwaggerConfig swaggerConfig = ctxService.getConfig();
-                    if (swaggerConfig != null) {
-                        LOGGER.debug("configuring swagger with " + swaggerConfig);
-                        swaggerConfig.configure(swagger);
+                    classes = scanner.classes();
+                }
+
+                if (classes != null || prebuiltSwagger != null) {
+                    if (classes != null) {
+                        Reader reader = new Reader(swagger, ReaderConfigUtils.getReaderConfig(context));
+                        swagger = reader.read(classes);
+                    }
+
+                    SpecificationMetricsFactory.getInstance().scanCompleted(getSpecificationKey(sc, basePath),
+                            System.nanoTime() - start, classes == null ? 0 : classes.size());
+                    if (scanner instanceof SwaggerConfig) {
+                        swagger = ((SwaggerConfig) scanner).configure(swagger);
                     } else {
-                        LOGGER.debug("no configurator");
+                        SwaggerConfig swaggerConfig = ctxService.getConfig();
+                        if (swaggerConfig != null) {
+                            LOGGER.debug("configuring swagger with " + swaggerConfig);
+                            swaggerConfig.configure(swagger);
+                        } else {
+                            LOGGER.debug("no configurator");
+                        }
                     }
-                }
 
-                (new SwaggerContextService()).withServletConfig(sc).withBasePath(basePath).updateSwagger(swagger);
+                    if (shared) {
+                        getContextService(sc, basePath).updateSwagger(swagger);
+                    }
+                }
             }
         }
 
-        if (SwaggerContextService.isScannerIdInitParamDefined(sc)) {
-            initializedScanner.put(sc.getServletName() + "_" + SwaggerContextService.getScannerIdFromInitParam(sc),
-                    Boolean.valueOf(true));
-        } else if (SwaggerContextService.isConfigIdInitParamDefined(sc)) {
-            initializedConfig.put(sc.getServletName() + "_" + SwaggerContextService.getConfigIdFromInitParam(sc),
-                    Boolean.valueOf(true));
-        } else if (SwaggerContextService.isUsePathBasedConfigInitParamDefined(sc)) {
-            initializedConfig.put(sc.getServletName() + "_" + ctxService.getBasePath(), Boolean.valueOf(true));
-        } else {
-            initialized = true;
-        }
-
         return swagger;
     }
 
-    private static Map<String, List<String>> getQueryParams(MultivaluedMap<String, String> params) {
-        Map<String, List<String>> output = new HashMap();
-        if (params != null) {
-            Iterator i$ = params.keySet().iterator();
+    private static SwaggerContextService getContextService(ServletConfig sc, String basePath) {
+        SwaggerContextService ctxService = (new SwaggerContextService()).withBasePath(basePath);
 
-            while (i$.hasNext()) {
-                String key = (String) i$.next();
-                List<String> values = (List) params.get(key);
-                output.put(key, values);
-            }
+        if (sc.getServletContext() == null) {
+            // servlet not initialized yet (warm-up) or scanning in background, resolve scanner and config by their ids
+            return ctxService.withScannerId(SwaggerContextService.getScannerIdFromInitParam(sc))
+                    .withConfigId(SwaggerContextService.getConfigIdFromInitParam(sc));
         }
 
-        return output;
+        return ctxService.withServletConfig(sc);
     }
 
-    private static Map<String, String> getCookies(HttpHeaders headers) {
-        Map<String, String> output = new HashMap();
-        if (headers != null) {
-            Iterator i$ = headers.getCookies().keySet().iterator();
+    private static Swagger readPrebuiltSpecification(ServletConfig sc) {
+        String resource = sc.getInitParameter(PREBUILT_SPECIFICATION_PARAM);
 
-            while (i$.hasNext()) {
-                String key = (String) i$.next();
-                Cookie cookie = (Cookie) headers.getCookies().get(key);
-                output.put(key, cookie.getValue());
-            }
+        if (resource == null) {
+            return null;
         }
 
-        return output;
-    }
-
-    private static Map<String, List<String>> getHeaders(HttpHeaders headers) {
-        Map<String, List<String>> output = new HashMap();
-        if (headers != null) {
-            Iterator i$ = headers.getRequestHeaders().keySet().iterator();
-
-            while (i$.hasNext()) {
-                String key = (String) i$.next();
-                List<String> values = (List) headers.getRequestHeaders().get(key);
-                output.put(key, values);
+        try (InputStream is = ApiListingServlet.class.getClassLoader().getResourceAsStream(resource)) {
+            if (is != null) {
+                return Json.mapper().readValue(is, Swagger.class);
             }
+        } catch (IOException e) {
+            LOGGER.error("Unable to read prebuilt API specification " + resource + ": " + e.getMessage());
         }
 
-        return output;
-    }
+        LOGGER.warn("Prebuilt API specification " + resource + " not available. Scanning resources instead.");
 
-    private static String getBasePath(UriInfo uriInfo) {
-        return uriInfo != null ? uriInfo.getBaseUri().getPath() : "/";
+        return null;
     }
 
     @Override
-    public void doGet(HttpServletRequest request, HttpServletResponse response) throws JsonProcessingException {
-
-        String type = "json";
-        String requestedType = request.getPathInfo().split("\\.")[1];
+    public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        long start = System.nanoTime();
+        String pathInfo = request.getPathInfo() == null ? "" : request.getPathInfo();
+        String slicedPath = null;
+        boolean hash = false;
+        SpecificationFormat format;
+
+        if (HASH_PATH.equals(pathInfo)) {
+            hash = true;
+            format = SpecificationFormat.JSON;
+        } else if (pathInfo.startsWith(PATHS_PREFIX)) {
+            // path is URL encoded in the request, container has already decoded it
+            slicedPath = "/" + StringUtils.stripStart(pathInfo.substring(PATHS_PREFIX.length()), "/");
+            format = getAcceptedFormat(request);
+        } else {
+            String[] segments = pathInfo.split("\\.");
 
-        if (requestedType != null) {
-            type = requestedType;
+            // format is selected by the extension or, when there is none, by the Accept header
+            format = segments.length > 1 ? SpecificationFormat.fromExtension(segments[1]) :
+                    getAcceptedFormat(request);
         }
 
         int index = request.getServletPath().indexOf("api-specs");
@@ -157,100 +258,501 @@ public class ApiListingServlet extends HttpServlet {
             applicationBasePath = request.getServletPath().substring(index + 10);
         }
 
+        if (format == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // representation may be selected with the Accept header
+        response.addHeader("Vary", "Accept");
+
+        SpecificationMetrics metrics = SpecificationMetricsFactory.getInstance();
+        String key = getSpecificationKey(this.getServletConfig(), applicationBasePath);
+
         try {
-            PrintWriter out = response.getWriter();
+            RenderedSpecification specification = this.getRenderedSpecification(null, this.getServletContext(),
+                    this.getServletConfig(), applicationBasePath);
+            long generation = specification.getGeneration();
+
+            if (filter != null) {
+                specification = filter(request, response, specification);
+            }
+
+            String[] tags = request.getParameterValues("tags");
 
-            String specification = null;
-            if (type.trim().equalsIgnoreCase("json")) {
-                response.setContentType("application/json");
+            if (slicedPath != null) {
+                String path = slicedPath;
+                specification = slice(specification, "path:" + path,
+                        specificationIndex -> specificationIndex.sliceByPath(path));
+            } else if (tags != null) {
+                Set<String> tagNames = getTagNames(tags);
+                specification = slice(specification, "tags:" + String.join(",", tagNames),
+                        specificationIndex -> specificationIndex.sliceByTags(tagNames));
+            }
 
-                specification = this.getListingJsonResponse(null, this.getServletContext(), this.getServletConfig(),
-                        null,
-                        applicationBasePath);
-            } else if (type.trim().equalsIgnoreCase("yaml")) {
-                response.setContentType("application/yaml");
+            if (specification == null) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                metrics.requestServed(key, response.getStatus(), System.nanoTime() - start);
+                return;
+            }
 
-                specification = this.getListingYamlResponse(null, this.getServletContext(), this.getServletConfig(),
-                        null,
-                        applicationBasePath);
+            if (hash) {
+                serveHash(request, response, specification, generation);
+                metrics.requestServed(key, response.getStatus(), System.nanoTime() - start);
+                return;
             }
 
-            out.print(specification);
+            boolean pretty = isPrettyPrintRequested(request);
+            SpecificationContent content = specification.getContent(format, pretty);
 
-            response.setStatus(HttpServletResponse.SC_OK);
+            if (content == null) {
+                serveStreamed(request, response, specification, format, pretty);
+            } else {
+                serveRendered(request, response, specification, content, format);
+            }
+        } catch (TimeoutException e) {
+            response.setHeader("Retry-After", String.valueOf(warmupRetryAfter));
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
         } catch (Exception e) {
+            LOGGER.error("Unable to serve API specification: " + e.getMessage());
+            metrics.requestFailed(key, e);
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
         }
+
+        metrics.requestServed(key, response.getStatus(), System.nanoTime() - start);
     }
 
-    private Swagger process(Application app, ServletContext servletContext, ServletConfig sc, HttpHeaders headers,
-                            String basePath) {
-        SwaggerContextService ctxService = (new SwaggerContextService()).withServletConfig(sc).withBasePath(basePath);
-        Swagger swagger = ctxService.getSwagger();
-        Class var8 = ApiListingResource.class;
-        synchronized (ApiListingResource.class) {
-            if (SwaggerContextService.isScannerIdInitParamDefined(sc)) {
-                if (!initializedScanner.containsKey(sc.getServletName() + "_" + SwaggerContextService.getScannerIdFromInitParam(sc))) {
-                    swagger = scan(app, servletContext, sc, basePath);
-                }
-            } else if (SwaggerContextService.isConfigIdInitParamDefined(sc)) {
-                if (!initializedConfig.containsKey(sc.getServletName() + "_" + SwaggerContextService.getConfigIdFromInitParam(sc))) {
-                    swagger = scan(app, servletContext, sc, basePath);
+    /**
+     * Returns sorted, distinct tag names, given in repeated or comma separated tags parameters, so equal selections
+     * share the same view.
+     */
+    static Set<String> getTagNames(String[] tags) {
+        Set<String> tagNames = new TreeSet<>();
+
+        for (String tag : tags) {
+            for (String tagName : tag.split(",")) {
+                if (!tagName.trim().isEmpty()) {
+                    tagNames.add(tagName.trim());
                 }
-            } else if (SwaggerContextService.isUsePathBasedConfigInitParamDefined(sc)) {
-                if (!initializedConfig.containsKey(sc.getServletName() + "_" + ctxService.getBasePath())) {
-                    swagger = scan(app, servletContext, sc, basePath);
+            }
+        }
+
+        return tagNames;
+    }
+
+    /**
+     * Returns self-contained part of the specification, built from its index. Slices of rendered specifications are
+     * cached as their views. Slices of specifications built for a single request (e.g. filtered by a filter which is
+     * not cacheable) are neither cached nor rendered, they are streamed.
+     */
+    private RenderedSpecification slice(RenderedSpecification specification, String view,
+                                        Function<SpecificationIndex, Swagger> slicer) throws Exception {
+        if (!cacheEnabled || !specification.isRendered()) {
+            Swagger slice = slicer.apply(specification.getIndex());
+            return slice == null ? null : RenderedSpecification.unrendered(slice);
+        }
+
+        return specification.getViews(viewsCacheSize).get(view, () -> {
+            Swagger slice = slicer.apply(specification.getIndex());
+            return slice == null ? null : retain(RenderedSpecification.render(slice, prettyPrint));
+        });
+    }
+
+    /**
+     * Triggers re-scan of the API specification in the background. The current specification is served until the new
+     * one is ready. Request must carry the configured reload token.
+     */
+    @Override
+    public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String application = SwaggerContextService.getScannerIdFromInitParam(this.getServletConfig());
+
+        if (!reloadEnabled || !RELOAD_PATH.equals(request.getPathInfo()) || application == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (!isReloadAuthorized(reloadToken, request.getHeader(RELOAD_TOKEN_HEADER))) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        if (!SpecificationReloader.getInstance().reload(application)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+    }
+
+    /**
+     * @param reloadToken configured reload token or null, if none is configured
+     * @param token       token carried by the request or null, if it carries none
+     */
+    static boolean isReloadAuthorized(byte[] reloadToken, String token) {
+        // constant-time comparison, does not reveal how much of the token matched
+        return reloadToken != null && token != null &&
+                MessageDigest.isEqual(reloadToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private RenderedSpecification filter(HttpServletRequest request, HttpServletResponse response,
+                                         RenderedSpecification specification) throws Exception {
+        if (filter instanceof CacheableSpecFilter && cacheEnabled) {
+            CacheableSpecFilter cacheableFilter = (CacheableSpecFilter) filter;
+            FilterInputs inputs = FilterInputs.of(cacheableFilter, request);
+
+            // responses differ by declared inputs, shared caches must not mix them up
+            List<String> vary = new ArrayList<>(cacheableFilter.getHeaderNames());
+            if (!cacheableFilter.getCookieNames().isEmpty()) {
+                vary.add("Cookie");
+            }
+            if (!vary.isEmpty()) {
+                response.addHeader("Vary", String.join(", ", vary));
+            }
+
+            return specification.getViews(viewsCacheSize).get(inputs.getKey(),
+                    () -> retain(RenderedSpecification.render(inputs.filter(specification.getSwagger(), filter),
+                            prettyPrint)));
+        }
+
+        // filter may depend on any input of the request, filtered specification can not be cached
+        return RenderedSpecification.unrendered(FilterInputs.of(request).filter(specification.getSwagger(), filter));
+    }
+
+    /**
+     * Returns the form in which the rendered view is cached, without its model in low-memory mode.
+     */
+    private RenderedSpecification retain(RenderedSpecification specification) throws JsonProcessingException {
+        return lowMemory ? specification.detach(directBuffers) : specification;
+    }
+
+    private void serveRendered(HttpServletRequest request, HttpServletResponse response,
+                               RenderedSpecification specification, SpecificationContent content,
+                               SpecificationFormat format) throws IOException {
+        if (compression) {
+            response.addHeader("Vary", "Accept-Encoding");
+
+            if (content.getGzipped() != null && HttpUtil.acceptsGzip(request.getHeader("Accept-Encoding"))) {
+                content = content.getGzipped();
+                response.setHeader("Content-Encoding", "gzip");
+            }
+        }
+
+        response.setHeader("ETag", content.getETag());
+        response.setDateHeader("Last-Modified", specification.getLastModified());
+        if (cacheControl != null) {
+            response.setHeader("Cache-Control", cacheControl);
+        }
+
+        if (HttpUtil.isNotModified(request, content.getETag(), specification.getLastModified())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(format.getContentType());
+        response.setContentLength(content.getContentLength());
+
+        write(content, response.getOutputStream());
+    }
+
+    /**
+     * Writes the content, directly from its buffer if the response stream is a Jetty response stream.
+     */
+    private static void write(SpecificationContent content, OutputStream out) throws IOException {
+        if (!JETTY_OUTPUT_AVAILABLE || !JettyOutput.write(out, content.getBuffer())) {
+            content.writeTo(out);
+        }
+    }
+
+    /**
+     * Serves digest of the specification, which equals the entity tag of its JSON representation, together with its
+     * generation, so that clients can detect changes without downloading the specification.
+     */
+    private void serveHash(HttpServletRequest request, HttpServletResponse response,
+                           RenderedSpecification specification, long generation) throws IOException {
+        String digest = specification.getDigest();
+        String eTag = "\"" + digest + "-" + generation + "\"";
+
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", specification.getLastModified());
+        if (cacheControl != null) {
+            response.setHeader("Cache-Control", cacheControl);
+        }
+
+        if (HttpUtil.isNotModified(request, eTag, specification.getLastModified())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = ("{\"digest\":\"" + digest + "\",\"generation\":" + generation + "}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(SpecificationFormat.JSON.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void serveStreamed(HttpServletRequest request, HttpServletResponse response,
+                               RenderedSpecification specification, SpecificationFormat format, boolean pretty)
+            throws IOException {
+        response.setDateHeader("Last-Modified", specification.getLastModified());
+        if (cacheControl != null) {
+            response.setHeader("Cache-Control", cacheControl);
+        }
+
+        if (HttpUtil.isNotModified(request, null, specification.getLastModified())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // length is not known in advance, response is sent chunked
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(format.getContentType());
+
+        specification.stream(format, pretty, response.getOutputStream());
+    }
+
+    private static SpecificationFormat getAcceptedFormat(HttpServletRequest request) {
+        SpecificationFormat format = SpecificationFormat.fromAccept(request.getHeader("Accept"));
+        return format != null ? format : SpecificationFormat.JSON;
+    }
+
+    /**
+     * Resolves whether indented or compact output is requested, either with the pretty query parameter or with the
+     * pretty parameter of the requested media type (e.g. Accept: application/json; pretty=false).
+     */
+    private boolean isPrettyPrintRequested(HttpServletRequest request) {
+        String pretty = request.getParameter("pretty");
+
+        if (pretty == null && request.getHeader("Accept") != null) {
+            for (String parameter : request.getHeader("Accept").split("[;,]")) {
+                String[] nameValue = parameter.split("=", 2);
+                if (nameValue.length == 2 && nameValue[0].trim().equalsIgnoreCase("pretty")) {
+                    pretty = nameValue[1].trim();
+                    break;
                 }
-            } else if (!initialized) {
-                swagger = scan(app, servletContext, sc, basePath);
             }
         }
 
-        /*if (swagger != null) {
-            SwaggerSpecFilter filterImpl = FilterFactory.getFilter();
-            if (filterImpl != null) {
-                SpecFilter f = new SpecFilter();
-                swagger = f.filter(swagger, filterImpl, getQueryParams(uriInfo.getQueryParameters()), getCookies
-                (headers), getHeaders
-                        (headers));
+        return pretty == null ? prettyPrint : Boolean.parseBoolean(pretty);
+    }
+
+    private RenderedSpecification getRenderedSpecification(Application app, ServletContext servletContext,
+                                                           ServletConfig servletConfig, String basePath)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        String key = getSpecificationKey(servletConfig, basePath);
+        SpecificationMetrics metrics = SpecificationMetricsFactory.getInstance();
+
+        CompletableFuture<RenderedSpecification> specification = SpecificationCache.getInstance().get(key);
+
+        if (specification != null && specification.isDone()) {
+            metrics.cacheHit(key);
+            return specification.get();
+        }
+
+        if (specification == null) {
+            CompletableFuture<RenderedSpecification> created = new CompletableFuture<>();
+            specification = SpecificationCache.getInstance().putIfAbsent(key, created);
+
+            // only the first request scans, concurrent requests for the same specification wait for its result
+            if (specification == created) {
+                metrics.cacheMiss(key);
+                render(key, created, () -> scan(app, servletContext, servletConfig, basePath), cacheEnabled,
+                        servletConfig.getInitParameter(FINGERPRINT_PARAM));
+                return created.get();
             }
-        }*/
+        }
 
-        return swagger;
+        if (!specification.isDone() && warmupEnabled && warmupMaxWait <= 0) {
+            // warm-up still in progress
+            throw new TimeoutException("API specification warm-up in progress.");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!specification.isDone() && warmupEnabled) {
+                return specification.get(warmupMaxWait, TimeUnit.MILLISECONDS);
+            }
+
+            return specification.get();
+        } finally {
+            metrics.waited(key, System.nanoTime() - start);
+        }
     }
 
-    private String getListingYamlResponse(Application app, ServletContext servletContext, ServletConfig servletConfig
-            , HttpHeaders
-                                                  headers, String basePath) {
-        Swagger swagger = this.process(app, servletContext, servletConfig, headers, basePath);
+    /**
+     * Scans and renders API specification for the servlet with given init parameters in the background, so that it
+     * is ready before the first request.
+     */
+    public static CompletableFuture<RenderedSpecification> warmUp(Map<String, String> parameters, Executor executor) {
+        ServletConfig sc = new BackgroundServletConfig(parameters);
+        String key = getSpecificationKey(sc, "");
+
+        CompletableFuture<RenderedSpecification> specification = new CompletableFuture<>();
 
+        if (SpecificationCache.getInstance().putIfAbsent(key, specification) != specification) {
+            return SpecificationCache.getInstance().get(key);
+        }
+
+        executor.execute(() -> {
+            long start = System.currentTimeMillis();
+            render(key, specification, () -> scan(null, null, sc, ""),
+                    ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.cache.enabled").orElse(true),
+                    sc.getInitParameter(FINGERPRINT_PARAM));
+            LOGGER.info("API specification " + key + " warmed up in " + (System.currentTimeMillis() - start) + " ms.");
+        });
+
+        return specification;
+    }
+
+    /**
+     * Re-scans and renders API specification for the servlet with given init parameters off the request path. The
+     * current specification is served until the new one is ready and atomically replaces it. If the re-scan fails,
+     * the current specification is kept.
+     */
+    public static CompletableFuture<RenderedSpecification> reload(Map<String, String> parameters, Executor executor) {
+        ServletConfig sc = new BackgroundServletConfig(parameters);
+        String key = getSpecificationKey(sc, "");
+
+        CompletableFuture<RenderedSpecification> specification = new CompletableFuture<>();
+
+        executor.execute(() -> {
+            long start = System.currentTimeMillis();
+            // resources changed at runtime are not covered by the fingerprint, reloaded specification is not cached
+            render(key, specification, () -> scan(null, null, sc, "", true),
+                    ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.cache.enabled").orElse(true),
+                    null);
+
+            if (!specification.isCompletedExceptionally()) {
+                SpecificationCache.getInstance().replace(key, specification);
+                LOGGER.info("API specification " + key + " reloaded in " + (System.currentTimeMillis() - start) +
+                        " ms.");
+            }
+        });
+
+        return specification;
+    }
+
+    /**
+     * @param fingerprint fingerprint of the application the specification is stored on disk under or null, if it is
+     *                    not stored
+     */
+    private static void render(String key, CompletableFuture<RenderedSpecification> specification,
+                               Supplier<Swagger> swagger, boolean cacheEnabled, String fingerprint) {
         try {
-            if (swagger != null) {
-                String yaml = Yaml.mapper().writeValueAsString(swagger);
-                StringBuilder b = new StringBuilder();
-                String[] parts = yaml.split("\n");
-                String[] arr$ = parts;
-                int len$ = parts.length;
-
-                for (int i$ = 0; i$ < len$; ++i$) {
-                    String part = arr$[i$];
-                    b.append(part);
-                    b.append("\n");
+            boolean prettyPrint = ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.pretty-print")
+                    .orElse(true);
+            SpecificationDiskCache diskCache = cacheEnabled && fingerprint != null ?
+                    SpecificationDiskCache.getInstance() : null;
+
+            if (diskCache != null) {
+                RenderedSpecification stored = diskCache.load(key, fingerprint, prettyPrint);
+
+                if (stored != null) {
+                    LOGGER.debug("API specification " + key + " loaded from disk cache.");
+                    specification.complete(SpecificationCache.getInstance().assignGeneration(key, stored));
+                    return;
                 }
+            }
+
+            Swagger scanned = swagger.get();
+            // reference graph is built once after scanning and kept for slicing
+            SpecificationIndex index = scanned == null ? null : SpecificationIndex.build(scanned);
 
-                return b.toString();
+            if (index != null &&
+                    ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.prune-definitions").orElse(false)) {
+                scanned = index.prune();
             }
-        } catch (Exception var14) {
-            LOGGER.error("Unknown exception occurred while generating yaml response: " + var14.getMessage());
+
+            RenderedSpecification renderedSpecification = cacheEnabled ?
+                    RenderedSpecification.render(scanned, index, prettyPrint) :
+                    RenderedSpecification.unrendered(scanned, index);
+
+            if (cacheEnabled && scanned != null &&
+                    ConfigurationUtil.getInstance().getBoolean("kumuluzee.swagger.low-memory.enabled").orElse(false)) {
+                // only the rendered contents are kept, the model is materialized from them when needed
+                renderedSpecification = renderedSpecification.detach(ConfigurationUtil.getInstance()
+                        .getBoolean("kumuluzee.swagger.low-memory.direct-buffers").orElse(false));
+            }
+
+            for (SpecificationFormat format : SpecificationFormat.values()) {
+                SpecificationContent content = renderedSpecification.getContent(format);
+                if (content != null) {
+                    SpecificationMetricsFactory.getInstance().specificationRendered(key, format,
+                            content.getContentLength());
+                }
+            }
+
+            if (diskCache != null && scanned != null) {
+                diskCache.store(key, fingerprint, renderedSpecification);
+            }
+
+            specification.complete(SpecificationCache.getInstance().assignGeneration(key, renderedSpecification));
+        } catch (Exception e) {
+            LOGGER.error("Unable to render API specification " + key + ": " + e.getMessage());
+            // let the next request scan again
+            SpecificationCache.getInstance().remove(key, specification);
+            specification.completeExceptionally(e);
         }
+    }
 
-        return null;
+    /**
+     * Returns the key under which the API specification of the application with the given (stripped) path is cached
+     * and stored, e.g. for looking it up in {@link SpecificationCache}.
+     */
+    public static String getSpecificationKey(String applicationPath) {
+        // applications are registered with their path as the scanner id, see SwaggerExtension
+        return "scanner_" + applicationPath;
     }
 
-    private String getListingJsonResponse(Application app, ServletContext servletContext, ServletConfig servletConfig
-            , HttpHeaders
-                                                  headers, String basePath) throws JsonProcessingException {
-        Swagger swagger = this.process(app, servletContext, servletConfig, headers, basePath);
-        return Json.mapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(swagger);
+    private static String getSpecificationKey(ServletConfig sc, String basePath) {
+        if (SwaggerContextService.isScannerIdInitParamDefined(sc)) {
+            return getSpecificationKey(SwaggerContextService.getScannerIdFromInitParam(sc));
+        } else if (SwaggerContextService.isConfigIdInitParamDefined(sc)) {
+            return "config_" + SwaggerContextService.getConfigIdFromInitParam(sc);
+        } else if (SwaggerContextService.isUsePathBasedConfigInitParamDefined(sc)) {
+            return "path_" + basePath;
+        }
+
+        return "default";
+    }
+
+    private static boolean isJettyOutputAvailable() {
+        try {
+            Class.forName(JETTY_OUTPUT_CLASS, false, ApiListingServlet.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static class BackgroundServletConfig implements ServletConfig {
+
+        private final Map<String, String> parameters;
+
+        BackgroundServletConfig(Map<String, String> parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public String getServletName() {
+            return ApiListingServlet.class.getName() + "-background";
+        }
+
+        @Override
+        public ServletContext getServletContext() {
+            return null;
+        }
+
+        @Override
+        public String getInitParameter(String name) {
+            return parameters.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getInitParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
     }
 }
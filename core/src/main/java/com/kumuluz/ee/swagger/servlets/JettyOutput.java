@@ -0,0 +1,34 @@
+package com.kumuluz.ee.swagger.servlets;
+
+import org.eclipse.jetty.server.HttpOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * JettyOutput class - writes buffers to Jetty response streams directly, without copying content outside of the heap
+ * into the heap. Only loaded when Jetty is available, see {@link ApiListingServlet}.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+final class JettyOutput {
+
+    private JettyOutput() {
+    }
+
+    /**
+     * Writes the buffer, if the stream is a Jetty response stream.
+     *
+     * @return whether the buffer was written
+     */
+    static boolean write(OutputStream out, ByteBuffer buffer) throws IOException {
+        if (out instanceof HttpOutput) {
+            ((HttpOutput) out).write(buffer);
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kumuluz.ee.swagger.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ContentUtil class - compression and digests of content served from memory, shared by API specifications and Swagger
+ * UI assets.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class ContentUtil {
+
+    private ContentUtil() {
+    }
+
+    /**
+     * Returns gzip compressed content or null, if compression does not reduce its size.
+     */
+    public static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4 + 64);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            return null;
+        }
+
+        return compressed.size() < content.length ? compressed.toByteArray() : null;
+    }
+
+    /**
+     * Returns SHA-256 digest of the content, base64url encoded without padding, e.g. for use in entity tags.
+     */
+    public static String digest(byte[] content) {
+        return digest(ByteBuffer.wrap(content));
+    }
+
+    /**
+     * Returns SHA-256 digest of the remaining content of the buffer, base64url encoded without padding. The buffer is
+     * consumed.
+     */
+    public static String digest(ByteBuffer content) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 message digest not available.", e);
+        }
+    }
+}
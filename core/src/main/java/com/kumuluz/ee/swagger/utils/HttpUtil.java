@@ -0,0 +1,155 @@
+package com.kumuluz.ee.swagger.utils;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * HttpUtil class - content negotiation and conditional request handling, shared by the API specification and Swagger
+ * UI servlets.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class HttpUtil {
+
+    private HttpUtil() {
+    }
+
+    /**
+     * Returns whether the Accept-Encoding header allows a gzip compressed response. Codings with q=0 are refused, a
+     * gzip coding takes precedence over the wildcard.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        boolean accepted = false;
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean allowed = getQuality(parts) > 0;
+
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                return allowed;
+            } else if (name.equals("*")) {
+                accepted = allowed;
+            }
+        }
+
+        return accepted;
+    }
+
+    /**
+     * Returns the quality value among parameters of a header element (e.g. ["gzip", "q=0.5"]), 1 if it has none or 0,
+     * if it is malformed.
+     */
+    public static double getQuality(String[] parts) {
+        double quality = 1;
+
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    quality = Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+
+        return quality >= 0 && quality <= 1 ? quality : 0;
+    }
+
+    /**
+     * Returns whether the client already holds the current representation, by If-None-Match or, if it is not given,
+     * by If-Modified-Since.
+     *
+     * @param lastModified last modification time of the representation or -1, if it is not known
+     */
+    public static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+
+        if (ifNoneMatch != null) {
+            return matchesETag(ifNoneMatch, eTag);
+        }
+
+        if (lastModified == -1) {
+            return false;
+        }
+
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether one of the entity tags in the If-None-Match header matches the given one, using weak comparison.
+     */
+    public static boolean matchesETag(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Parses a single byte range. Returns inclusive bounds of the range, an empty array if the range can not be
+     * satisfied or null, if the header is malformed or requests multiple ranges.
+     */
+    public static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') != -1) {
+            return null;
+        }
+
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+
+        try {
+            long first;
+            long last;
+
+            if (dash == 0) {
+                // suffix range, last n bytes
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                first = Math.max(0, length - suffix);
+                last = length - 1;
+            } else {
+                first = Long.parseLong(spec.substring(0, dash));
+                last = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)),
+                        length - 1);
+                if (last < first) {
+                    return first >= length ? new long[0] : null;
+                }
+            }
+
+            return first < length ? new long[]{first, last} : new long[0];
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the range is applied: ranges are only applied when the client holds the current version, by
+     * the entity tag in If-Range. Dates in If-Range are not matched.
+     */
+    public static boolean isRangeApplicable(String ifRange, String eTag) {
+        return ifRange == null || ifRange.trim().equals(eTag);
+    }
+}
@@ -0,0 +1,135 @@
+package com.kumuluz.ee.swagger.cache;
+
+import io.swagger.models.Info;
+import io.swagger.models.Swagger;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * SpecificationContentTest class - tests entity tags and compressed variants of served API specification contents.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationContentTest {
+
+    @Test
+    public void eTagIsStrongQuotedDigest() {
+        SpecificationContent content = new SpecificationContent(bytes("{\"swagger\":\"2.0\"}"));
+
+        Assert.assertEquals("\"" + content.getDigest() + "\"", content.getETag());
+        Assert.assertFalse(content.getETag().startsWith("W/"));
+    }
+
+    @Test
+    public void eTagDependsOnlyOnContent() {
+        Assert.assertEquals(new SpecificationContent(bytes("{\"swagger\":\"2.0\"}")).getETag(),
+                new SpecificationContent(bytes("{\"swagger\":\"2.0\"}")).getETag());
+        Assert.assertNotEquals(new SpecificationContent(bytes("{\"swagger\":\"2.0\"}")).getETag(),
+                new SpecificationContent(bytes("{\"swagger\":\"3.0\"}")).getETag());
+    }
+
+    @Test
+    public void directContentKeepsETagAndBytes() throws IOException {
+        SpecificationContent content = new SpecificationContent(bytes("{\"swagger\":\"2.0\"}"));
+        SpecificationContent direct = content.toDirect();
+
+        Assert.assertTrue(direct.getBuffer().isDirect());
+        Assert.assertEquals(content.getETag(), direct.getETag());
+        Assert.assertArrayEquals(write(content), write(direct));
+    }
+
+    @Test
+    public void renderedSpecificationHasStableETags() throws Exception {
+        RenderedSpecification first = RenderedSpecification.render(swagger("1.0.0"));
+        RenderedSpecification second = RenderedSpecification.render(swagger("1.0.0"));
+        RenderedSpecification changed = RenderedSpecification.render(swagger("1.0.1"));
+
+        for (SpecificationFormat format : SpecificationFormat.values()) {
+            Assert.assertEquals(first.getContent(format).getETag(), second.getContent(format).getETag());
+            Assert.assertNotEquals(first.getContent(format).getETag(), changed.getContent(format).getETag());
+        }
+        Assert.assertEquals(first.getDigest(), first.getContent(SpecificationFormat.JSON).getDigest());
+    }
+
+    @Test
+    public void variantsHaveDistinctETags() throws Exception {
+        RenderedSpecification specification = RenderedSpecification.render(swagger("1.0.0"), true);
+
+        Assert.assertNotEquals(specification.getContent(SpecificationFormat.JSON, true).getETag(),
+                specification.getContent(SpecificationFormat.JSON, false).getETag());
+        Assert.assertNotEquals(specification.getContent(SpecificationFormat.JSON).getETag(),
+                specification.getContent(SpecificationFormat.YAML).getETag());
+    }
+
+    @Test
+    public void gzippedVariantHasOwnETag() throws IOException {
+        byte[] json = bytes(repeat("{\"swagger\":\"2.0\"}", 50));
+        SpecificationContent content = new SpecificationContent(json);
+        SpecificationContent gzipped = content.getGzipped();
+
+        Assert.assertNotNull(gzipped);
+        Assert.assertTrue(gzipped.getContentLength() < content.getContentLength());
+        Assert.assertArrayEquals(json, gunzip(write(gzipped)));
+        Assert.assertNotEquals(content.getETag(), gzipped.getETag());
+        Assert.assertNull(gzipped.getGzipped());
+    }
+
+    @Test
+    public void gzippedVariantIsOmittedWhenItDoesNotShrink() {
+        Assert.assertNull(new SpecificationContent(bytes("{}")).getGzipped());
+    }
+
+    @Test
+    public void directContentKeepsGzippedVariant() throws IOException {
+        SpecificationContent content = new SpecificationContent(bytes(repeat("{\"swagger\":\"2.0\"}", 50)));
+        SpecificationContent direct = content.toDirect();
+
+        Assert.assertTrue(direct.getGzipped().getBuffer().isDirect());
+        Assert.assertEquals(content.getGzipped().getETag(), direct.getGzipped().getETag());
+        Assert.assertArrayEquals(write(content.getGzipped()), write(direct.getGzipped()));
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] write(SpecificationContent content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        content.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static Swagger swagger(String version) {
+        return new Swagger().info(new Info().title("orders").version(version));
+    }
+}
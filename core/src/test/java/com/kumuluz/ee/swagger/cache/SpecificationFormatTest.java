@@ -0,0 +1,52 @@
+package com.kumuluz.ee.swagger.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * SpecificationFormatTest class - tests selection of the specification format with the Accept header.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationFormatTest {
+
+    @Test
+    public void selectsListedFormat() {
+        Assert.assertEquals(SpecificationFormat.YAML, SpecificationFormat.fromAccept("text/html, application/yaml"));
+        Assert.assertEquals(SpecificationFormat.CBOR, SpecificationFormat.fromAccept("APPLICATION/CBOR"));
+        Assert.assertNull(SpecificationFormat.fromAccept("text/html, */*"));
+        Assert.assertNull(SpecificationFormat.fromAccept(null));
+    }
+
+    @Test
+    public void selectsFormatWithHighestQuality() {
+        Assert.assertEquals(SpecificationFormat.YAML,
+                SpecificationFormat.fromAccept("application/json;q=0.5, application/yaml"));
+        Assert.assertEquals(SpecificationFormat.SMILE,
+                SpecificationFormat.fromAccept("application/json;q=0.2, application/x-jackson-smile;q=0.9"));
+    }
+
+    @Test
+    public void resolvesTiesByListingOrder() {
+        Assert.assertEquals(SpecificationFormat.YAML,
+                SpecificationFormat.fromAccept("application/yaml;q=0.8, application/json;q=0.8"));
+        Assert.assertEquals(SpecificationFormat.JSON,
+                SpecificationFormat.fromAccept("application/json, application/yaml"));
+    }
+
+    @Test
+    public void refusesFormatsWithZeroOrMalformedQuality() {
+        Assert.assertNull(SpecificationFormat.fromAccept("application/yaml;q=0"));
+        Assert.assertEquals(SpecificationFormat.JSON,
+                SpecificationFormat.fromAccept("application/yaml;q=0, application/json;q=0.1"));
+        Assert.assertEquals(SpecificationFormat.JSON,
+                SpecificationFormat.fromAccept("application/yaml;q=abc, application/json"));
+    }
+
+    @Test
+    public void ignoresOtherMediaTypeParameters() {
+        Assert.assertEquals(SpecificationFormat.JSON,
+                SpecificationFormat.fromAccept("application/json; pretty=false; q=1, application/yaml;q=0.9"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.kumuluz.ee.swagger.cache;
+
+import io.swagger.models.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SpecificationViewsTest class - tests caching of views derived from API specifications.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationViewsTest {
+
+    @Test
+    public void viewIsComputedOnce() throws Exception {
+        SpecificationViews views = new SpecificationViews(4);
+        AtomicInteger computations = new AtomicInteger();
+
+        RenderedSpecification first = views.get("tags:orders", () -> {
+            computations.incrementAndGet();
+            return RenderedSpecification.unrendered(swagger("orders"));
+        });
+        RenderedSpecification second = views.get("tags:orders", () -> {
+            computations.incrementAndGet();
+            return RenderedSpecification.unrendered(swagger("orders"));
+        });
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, computations.get());
+    }
+
+    @Test
+    public void leastRecentlyUsedViewIsEvicted() throws Exception {
+        SpecificationViews views = new SpecificationViews(2);
+        AtomicInteger computations = new AtomicInteger();
+
+        views.get("a", () -> RenderedSpecification.unrendered(swagger("a")));
+        views.get("b", () -> RenderedSpecification.unrendered(swagger("b")));
+        views.get("a", () -> {
+            computations.incrementAndGet();
+            return RenderedSpecification.unrendered(swagger("a"));
+        });
+        views.get("c", () -> RenderedSpecification.unrendered(swagger("c")));
+        views.get("b", () -> {
+            computations.incrementAndGet();
+            return RenderedSpecification.unrendered(swagger("b"));
+        });
+
+        Assert.assertEquals(2, views.size());
+        Assert.assertEquals(1, computations.get());
+    }
+
+    @Test
+    public void failedViewIsNotCached() throws Exception {
+        SpecificationViews views = new SpecificationViews(2);
+
+        try {
+            views.get("a", () -> {
+                throw new IllegalStateException("failed");
+            });
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        Assert.assertEquals(0, views.size());
+        Assert.assertEquals("a", views.get("a", () -> RenderedSpecification.unrendered(swagger("a")))
+                .getSwagger().getInfo().getTitle());
+    }
+
+    @Test
+    public void onlyRenderedSpecificationsAreRendered() throws Exception {
+        RenderedSpecification rendered = RenderedSpecification.render(swagger("orders"), false);
+
+        Assert.assertTrue(rendered.isRendered());
+        Assert.assertTrue(rendered.detach(false).isRendered());
+        Assert.assertFalse(RenderedSpecification.unrendered(swagger("orders")).isRendered());
+    }
+
+    @Test
+    public void sliceOfDetachedSpecificationMatchesOriginal() throws Exception {
+        RenderedSpecification rendered = RenderedSpecification.render(taggedSwagger(), false);
+        RenderedSpecification detached = rendered.detach(false);
+
+        RenderedSpecification slice = RenderedSpecification.render(
+                rendered.getIndex().sliceByTags(Collections.singleton("orders")), false);
+        RenderedSpecification detachedSlice = RenderedSpecification.render(
+                detached.getIndex().sliceByTags(Collections.singleton("orders")), false);
+
+        Assert.assertEquals(Collections.singleton("/orders"), slice.getSwagger().getPaths().keySet());
+        Assert.assertEquals(slice.getContent(SpecificationFormat.JSON).getETag(),
+                detachedSlice.getContent(SpecificationFormat.JSON).getETag());
+    }
+
+    @Test
+    public void sliceViewIsSharedBetweenRequests() throws Exception {
+        RenderedSpecification rendered = RenderedSpecification.render(taggedSwagger(), false);
+        AtomicInteger slicings = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            rendered.getViews(4).get("tags:orders", () -> {
+                slicings.incrementAndGet();
+                return RenderedSpecification.render(rendered.getIndex().sliceByTags(Collections.singleton("orders")),
+                        false);
+            });
+        }
+
+        Assert.assertEquals(1, slicings.get());
+        Assert.assertSame(rendered.getViews(4), rendered.getViews(8));
+    }
+
+    private static Swagger taggedSwagger() {
+        return swagger("shop")
+                .path("/orders", new Path().get(new Operation().tag("orders")
+                        .response(200, new Response().description("OK").responseSchema(new RefModel("Order")))))
+                .path("/customers", new Path().get(new Operation().tag("customers")
+                        .response(200, new Response().description("OK"))))
+                .model("Order", new ModelImpl().type(ModelImpl.OBJECT));
+    }
+
+    private static Swagger swagger(String title) {
+        return new Swagger().info(new Info().title(title).version("1.0.0"));
+    }
+}
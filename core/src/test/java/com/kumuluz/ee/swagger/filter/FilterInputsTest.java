@@ -0,0 +1,178 @@
+package com.kumuluz.ee.swagger.filter;
+
+import io.swagger.core.filter.AbstractSpecFilter;
+import io.swagger.model.ApiDescription;
+import io.swagger.models.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * FilterInputsTest class - tests collection of filter inputs and keys of filtered views.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class FilterInputsTest {
+
+    @Test
+    public void keyContainsOnlyDeclaredInputs() {
+        TenantFilter filter = new TenantFilter();
+        HttpServletRequest request = request(
+                query("tenant", "a", "debug", "true"),
+                headers("X-Tenant", "a", "User-Agent", "curl"),
+                new Cookie("region", "eu"), new Cookie("session", "secret"));
+
+        Assert.assertEquals("q:tenant=[a];h:x-tenant=[a];c:region=eu;", FilterInputs.of(filter, request).getKey());
+    }
+
+    @Test
+    public void keyDoesNotDependOnOrderOfInputs() {
+        TenantFilter filter = new TenantFilter();
+        filter.queryParameterNames = new LinkedHashSet<>(Arrays.asList("tenant", "locale"));
+        TenantFilter reversed = new TenantFilter();
+        reversed.queryParameterNames = new LinkedHashSet<>(Arrays.asList("locale", "tenant"));
+        HttpServletRequest request = request(query("locale", "en", "tenant", "a"), headers());
+
+        Assert.assertEquals(FilterInputs.of(filter, request).getKey(), FilterInputs.of(reversed, request).getKey());
+    }
+
+    @Test
+    public void keyMatchesHeadersCaseInsensitively() {
+        TenantFilter filter = new TenantFilter();
+        filter.headerNames = Collections.singleton("x-tenant");
+
+        String key = FilterInputs.of(filter, request(query(), headers("X-TENANT", "a"))).getKey();
+
+        Assert.assertEquals(key, FilterInputs.of(filter, request(query(), headers("X-Tenant", "a"))).getKey());
+        Assert.assertTrue(key.contains("h:x-tenant=[a];"));
+    }
+
+    @Test
+    public void keyDistinguishesMissingAndDifferentInputs() {
+        TenantFilter filter = new TenantFilter();
+
+        String a = FilterInputs.of(filter, request(query("tenant", "a"), headers())).getKey();
+        String b = FilterInputs.of(filter, request(query("tenant", "b"), headers())).getKey();
+        String missing = FilterInputs.of(filter, request(query(), headers())).getKey();
+
+        Assert.assertFalse(a.equals(b));
+        Assert.assertFalse(a.equals(missing));
+        Assert.assertTrue(missing.contains("q:tenant=[];"));
+    }
+
+    @Test
+    public void filterReceivesOnlyDeclaredInputs() {
+        TenantFilter filter = new TenantFilter();
+        HttpServletRequest request = request(query("tenant", "a", "debug", "true"), headers("User-Agent", "curl"));
+
+        FilterInputs.of(filter, request).filter(swagger(), filter);
+
+        Assert.assertEquals(Collections.singleton("tenant"), filter.receivedQueryParameters);
+        Assert.assertEquals(Collections.singleton("x-tenant"), filter.receivedHeaders);
+    }
+
+    @Test
+    public void filterLeavesSpecificationIntact() {
+        Swagger swagger = swagger();
+        TenantFilter filter = new TenantFilter();
+
+        Swagger filtered = FilterInputs.of(filter, request(query("tenant", "a"), headers())).filter(swagger, filter);
+
+        Assert.assertNull(filtered.getPath("/orders").getDelete());
+        Assert.assertNotNull(filtered.getPath("/orders").getGet());
+        Assert.assertNotNull(swagger.getPath("/orders").getDelete());
+        Assert.assertNotSame(swagger.getPath("/orders"), filtered.getPath("/orders"));
+    }
+
+    private static Swagger swagger() {
+        return new Swagger()
+                .path("/orders", new Path()
+                        .get(new Operation().operationId("getOrders")
+                                .response(200, new Response().description("OK")))
+                        .delete(new Operation().operationId("deleteOrders")
+                                .response(204, new Response().description("Deleted"))));
+    }
+
+    private static Map<String, String[]> query(String... nameValues) {
+        Map<String, String[]> query = new LinkedHashMap<>();
+        for (int i = 0; i < nameValues.length; i += 2) {
+            query.put(nameValues[i], new String[]{nameValues[i + 1]});
+        }
+        return query;
+    }
+
+    private static Map<String, List<String>> headers(String... nameValues) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < nameValues.length; i += 2) {
+            headers.put(nameValues[i], Collections.singletonList(nameValues[i + 1]));
+        }
+        return headers;
+    }
+
+    private static HttpServletRequest request(Map<String, String[]> query, Map<String, List<String>> headers,
+                                              Cookie... cookies) {
+        return (HttpServletRequest) Proxy.newProxyInstance(FilterInputsTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getParameterMap":
+                            return query;
+                        case "getParameterValues":
+                            return query.get((String) args[0]);
+                        case "getHeaderNames":
+                            return Collections.enumeration(headers.keySet());
+                        case "getHeaders":
+                            // header names are case-insensitive
+                            return headers.entrySet().stream()
+                                    .filter(header -> header.getKey().equalsIgnoreCase((String) args[0]))
+                                    .findFirst()
+                                    .map(header -> Collections.enumeration(header.getValue()))
+                                    .orElse(Collections.emptyEnumeration());
+                        case "getCookies":
+                            return cookies.length == 0 ? null : cookies;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Removes DELETE operations and records the inputs it received.
+     */
+    private static class TenantFilter extends AbstractSpecFilter implements CacheableSpecFilter {
+
+        private Set<String> queryParameterNames = Collections.singleton("tenant");
+        private Set<String> headerNames = Collections.singleton("X-Tenant");
+        private Set<String> receivedQueryParameters;
+        private Set<String> receivedHeaders;
+
+        @Override
+        public Set<String> getQueryParameterNames() {
+            return queryParameterNames;
+        }
+
+        @Override
+        public Set<String> getHeaderNames() {
+            return headerNames;
+        }
+
+        @Override
+        public Set<String> getCookieNames() {
+            return Collections.singleton("region");
+        }
+
+        @Override
+        public boolean isOperationAllowed(Operation operation, ApiDescription api, Map<String, List<String>> params,
+                                          Map<String, String> cookies, Map<String, List<String>> headers) {
+            receivedQueryParameters = params.keySet();
+            receivedHeaders = new TreeSet<>();
+            headers.keySet().forEach(name -> receivedHeaders.add(name.toLowerCase(Locale.ROOT)));
+
+            return !"DELETE".equalsIgnoreCase(api.getMethod());
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.kumuluz.ee.swagger.index;
+
+import io.swagger.models.*;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.RefParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.RefProperty;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * SpecificationIndexTest class - tests pruning and slicing of API specifications.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SpecificationIndexTest {
+
+    @Test
+    public void pruneRemovesUnreferencedDefinitions() {
+        Swagger swagger = new Swagger()
+                .path("/orders", new Path().get(operation("orders", new RefModel("Order"))))
+                .model("Order", model())
+                .model("Unused", model());
+
+        Swagger pruned = SpecificationIndex.build(swagger).prune();
+
+        Assert.assertEquals(Collections.singleton("Order"), pruned.getDefinitions().keySet());
+        Assert.assertEquals(2, swagger.getDefinitions().size());
+        assertNoDanglingReferences(pruned);
+    }
+
+    @Test
+    public void pruneFollowsCyclicReferences() {
+        Swagger swagger = new Swagger()
+                .path("/nodes", new Path().get(operation("nodes", new RefModel("Parent"))))
+                .model("Parent", model().property("child", new RefProperty("Child")))
+                .model("Child", model().property("parent", new RefProperty("Parent")))
+                .model("Self", model().property("self", new RefProperty("Self")))
+                .model("Left", model().property("right", new RefProperty("Right")))
+                .model("Right", model().property("left", new RefProperty("Left")));
+
+        Swagger pruned = SpecificationIndex.build(swagger).prune();
+
+        Assert.assertEquals(set("Parent", "Child"), pruned.getDefinitions().keySet());
+        assertNoDanglingReferences(pruned);
+    }
+
+    @Test
+    public void pruneKeepsDefinitionsReferencedFromGlobalParametersAndResponses() {
+        Swagger swagger = new Swagger()
+                .path("/orders", new Path().post(new Operation()
+                        .tag("orders")
+                        .parameter(new RefParameter("order"))
+                        .response(400, new RefResponse("error"))))
+                .parameter("order", new BodyParameter().name("order").schema(new RefModel("Order")))
+                .response("error", new Response().description("Error")
+                        .responseSchema(new RefModel("Error")))
+                .model("Order", model().property("items",
+                        new ArrayProperty(new RefProperty("Item"))))
+                .model("Item", model())
+                .model("Error", model())
+                .model("Unused", model());
+
+        Swagger pruned = SpecificationIndex.build(swagger).prune();
+
+        Assert.assertEquals(Collections.singleton("order"), pruned.getParameters().keySet());
+        Assert.assertEquals(Collections.singleton("error"), pruned.getResponses().keySet());
+        Assert.assertEquals(set("Order", "Item", "Error"), pruned.getDefinitions().keySet());
+        assertNoDanglingReferences(pruned);
+    }
+
+    @Test
+    public void pruneRemovesUnreferencedGlobalParametersAndResponses() {
+        Swagger swagger = new Swagger()
+                .path("/orders", new Path().get(operation("orders", new RefModel("Order"))))
+                .parameter("unused", new BodyParameter().name("unused").schema(new RefModel("Hidden")))
+                .response("unused", new Response().description("Unused")
+                        .responseSchema(new RefModel("Hidden")))
+                .model("Order", model())
+                .model("Hidden", model());
+
+        Swagger pruned = SpecificationIndex.build(swagger).prune();
+
+        Assert.assertTrue(pruned.getParameters().isEmpty());
+        Assert.assertTrue(pruned.getResponses().isEmpty());
+        Assert.assertEquals(Collections.singleton("Order"), pruned.getDefinitions().keySet());
+        assertNoDanglingReferences(pruned);
+    }
+
+    @Test
+    public void sliceByTagsContainsOnlyTaggedOperations() {
+        Swagger swagger = new Swagger()
+                .tag(new Tag().name("orders"))
+                .tag(new Tag().name("customers"))
+                .path("/orders", new Path()
+                        .get(operation("orders", new RefModel("Order")))
+                        .delete(operation("customers", new RefModel("Customer"))))
+                .path("/customers", new Path().get(operation("customers", new RefModel("Customer"))))
+                .model("Order", model().property("customer", new RefProperty("Customer")))
+                .model("Customer", model().property("address", new RefProperty("Address")))
+                .model("Address", model())
+                .model("Unused", model());
+
+        Swagger slice = SpecificationIndex.build(swagger).sliceByTags(Collections.singleton("orders"));
+
+        Assert.assertEquals(Collections.singleton("/orders"), slice.getPaths().keySet());
+        Assert.assertNotNull(slice.getPath("/orders").getGet());
+        Assert.assertNull(slice.getPath("/orders").getDelete());
+        Assert.assertEquals(1, slice.getTags().size());
+        Assert.assertEquals("orders", slice.getTags().get(0).getName());
+        Assert.assertEquals(set("Order", "Customer", "Address"), slice.getDefinitions().keySet());
+        assertNoDanglingReferences(slice);
+    }
+
+    @Test
+    public void sliceByTagsFollowsGlobalParametersAndResponses() {
+        Swagger swagger = new Swagger()
+                .path("/orders", new Path()
+                        .post(new Operation()
+                                .tag("orders")
+                                .parameter(new RefParameter("order"))
+                                .response(400, new RefResponse("error")))
+                        .get(operation("customers", new RefModel("Customer"))))
+                .parameter("order", new BodyParameter().name("order").schema(new RefModel("Order")))
+                .response("error", new Response().description("Error")
+                        .responseSchema(new RefModel("Error")))
+                .model("Order", model())
+                .model("Error", model())
+                .model("Customer", model());
+
+        Swagger slice = SpecificationIndex.build(swagger).sliceByTags(Collections.singleton("orders"));
+
+        Assert.assertEquals(Collections.singleton("order"), slice.getParameters().keySet());
+        Assert.assertEquals(Collections.singleton("error"), slice.getResponses().keySet());
+        Assert.assertEquals(set("Order", "Error"), slice.getDefinitions().keySet());
+        assertNoDanglingReferences(slice);
+    }
+
+    @Test
+    public void sliceKeepsOrderOfSpecification() {
+        Swagger swagger = new Swagger()
+                .path("/orders", new Path().get(operation("orders", new RefModel("Zone"))))
+                .path("/customers", new Path().get(operation("customers", new RefModel("Customer"))))
+                .path("/addresses", new Path().get(operation("orders", new RefModel("Address"))));
+        for (int i = 0; i < 20; i++) {
+            swagger.model("Unused" + i, model());
+        }
+        swagger.model("Zone", model().property("address", new RefProperty("Address")))
+                .model("Customer", model())
+                .model("Address", model());
+
+        SpecificationIndex index = SpecificationIndex.build(swagger);
+        Swagger slice = index.sliceByTags(Arrays.asList("orders", "customers"));
+        Swagger reversed = index.sliceByTags(Arrays.asList("customers", "orders"));
+
+        Assert.assertEquals(Arrays.asList("/orders", "/customers", "/addresses"),
+                new ArrayList<>(slice.getPaths().keySet()));
+        Assert.assertEquals(Arrays.asList("Zone", "Customer", "Address"),
+                new ArrayList<>(slice.getDefinitions().keySet()));
+        Assert.assertEquals(new ArrayList<>(slice.getPaths().keySet()),
+                new ArrayList<>(reversed.getPaths().keySet()));
+        Assert.assertEquals(new ArrayList<>(slice.getDefinitions().keySet()),
+                new ArrayList<>(reversed.getDefinitions().keySet()));
+    }
+
+    @Test
+    public void sliceByPathContainsOnlyGivenPath() {
+        Swagger swagger = new Swagger()
+                .path("/orders/{id}", new Path()
+                        .get(operation("orders", new RefModel("Order")))
+                        .delete(operation("orders", new ModelImpl().type(ModelImpl.OBJECT))))
+                .path("/customers", new Path().get(operation("customers", new RefModel("Customer"))))
+                .model("Order", model().property("self", new RefProperty("Order")))
+                .model("Customer", model());
+
+        Swagger slice = SpecificationIndex.build(swagger).sliceByPath("/orders/{id}");
+
+        Assert.assertEquals(Collections.singleton("/orders/{id}"), slice.getPaths().keySet());
+        Assert.assertNotNull(slice.getPath("/orders/{id}").getDelete());
+        Assert.assertEquals(Collections.singleton("Order"), slice.getDefinitions().keySet());
+        assertNoDanglingReferences(slice);
+    }
+
+    @Test
+    public void sliceByUnknownPathReturnsNull() {
+        Swagger swagger = new Swagger()
+                .path("/orders", new Path().get(operation("orders", new ModelImpl().type(ModelImpl.OBJECT))));
+
+        Assert.assertNull(SpecificationIndex.build(swagger).sliceByPath("/customers"));
+    }
+
+    private static Operation operation(String tag, Model schema) {
+        return new Operation()
+                .tag(tag)
+                .response(200, new Response().description("OK").responseSchema(schema));
+    }
+
+    private static ModelImpl model() {
+        return new ModelImpl().type(ModelImpl.OBJECT);
+    }
+
+    private static Set<String> set(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    private static void assertNoDanglingReferences(Swagger swagger) {
+        Set<String> nodes = new HashSet<>();
+        if (swagger.getParameters() != null) {
+            swagger.getParameters().keySet().forEach(name -> nodes.add(ReferenceGraph.PARAMETERS + name));
+        }
+        if (swagger.getResponses() != null) {
+            swagger.getResponses().keySet().forEach(name -> nodes.add(ReferenceGraph.RESPONSES + name));
+        }
+        if (swagger.getDefinitions() != null) {
+            swagger.getDefinitions().keySet().forEach(name -> nodes.add(ReferenceGraph.DEFINITIONS + name));
+        }
+
+        ReferenceGraph graph = ReferenceGraph.build(swagger);
+        Set<String> referenced = new HashSet<>(graph.getReachableFromPaths());
+        nodes.forEach(node -> referenced.addAll(graph.getReferences(node)));
+        referenced.removeIf(node -> node.startsWith(ReferenceGraph.PATHS));
+
+        for (String node : referenced) {
+            Assert.assertTrue("Dangling reference " + node, nodes.contains(node));
+        }
+    }
+}
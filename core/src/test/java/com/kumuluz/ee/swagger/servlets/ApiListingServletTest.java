@@ -0,0 +1,53 @@
+package com.kumuluz.ee.swagger.servlets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * ApiListingServletTest class - tests authorization of reload requests and selection of sliced tags.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class ApiListingServletTest {
+
+    private static final byte[] TOKEN = "s3cr3t-token".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void reloadIsAuthorizedWithConfiguredToken() {
+        Assert.assertTrue(ApiListingServlet.isReloadAuthorized(TOKEN, "s3cr3t-token"));
+    }
+
+    @Test
+    public void reloadIsRejectedWithoutOrWithWrongToken() {
+        Assert.assertFalse(ApiListingServlet.isReloadAuthorized(TOKEN, null));
+        Assert.assertFalse(ApiListingServlet.isReloadAuthorized(TOKEN, ""));
+        Assert.assertFalse(ApiListingServlet.isReloadAuthorized(TOKEN, "s3cr3t"));
+        Assert.assertFalse(ApiListingServlet.isReloadAuthorized(TOKEN, "s3cr3t-token-2"));
+        Assert.assertFalse(ApiListingServlet.isReloadAuthorized(TOKEN, "S3CR3T-TOKEN"));
+    }
+
+    @Test
+    public void reloadIsRejectedWhenNoTokenIsConfigured() {
+        Assert.assertFalse(ApiListingServlet.isReloadAuthorized(null, null));
+        Assert.assertFalse(ApiListingServlet.isReloadAuthorized(null, "s3cr3t-token"));
+    }
+
+    @Test
+    public void tagNamesAreSplitAndTrimmed() {
+        Assert.assertEquals(Arrays.asList("customers", "orders"),
+                new ArrayList<>(ApiListingServlet.getTagNames(new String[]{" orders , customers", ""})));
+    }
+
+    @Test
+    public void tagNamesDoNotDependOnOrderOrRepetition() {
+        Assert.assertEquals(ApiListingServlet.getTagNames(new String[]{"orders", "customers"}),
+                ApiListingServlet.getTagNames(new String[]{"customers,orders,orders"}));
+        Assert.assertEquals(Collections.emptySet(), ApiListingServlet.getTagNames(new String[]{" , "}));
+    }
+}
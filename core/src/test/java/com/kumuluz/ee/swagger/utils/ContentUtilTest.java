@@ -0,0 +1,79 @@
+package com.kumuluz.ee.swagger.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * ContentUtilTest class - tests compression and digests of served content.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class ContentUtilTest {
+
+    @Test
+    public void gzipCompressesRepetitiveContent() throws IOException {
+        byte[] content = repeat("{\"swagger\":\"2.0\"}", 100);
+
+        byte[] gzipped = ContentUtil.gzip(content);
+
+        Assert.assertNotNull(gzipped);
+        Assert.assertTrue(gzipped.length < content.length);
+        Assert.assertArrayEquals(content, gunzip(gzipped));
+    }
+
+    @Test
+    public void gzipSkipsContentWhichDoesNotShrink() {
+        Assert.assertNull(ContentUtil.gzip(new byte[0]));
+        Assert.assertNull(ContentUtil.gzip("{}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void digestIsUrlSafeSha256() {
+        // SHA-256 of the empty string
+        Assert.assertEquals("47DEQpj8HBSa-_TImW-5JCeuQeRkm5NMpJWZG3hSuFU", ContentUtil.digest(new byte[0]));
+        Assert.assertEquals(43, ContentUtil.digest(repeat("x", 1000)).length());
+    }
+
+    @Test
+    public void digestOfBufferCoversRemainingContent() {
+        byte[] content = repeat("abc", 10);
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+        direct.put(content).flip();
+
+        Assert.assertEquals(ContentUtil.digest(content), ContentUtil.digest(direct));
+        Assert.assertEquals(ContentUtil.digest(Arrays.copyOfRange(content, 3, content.length)),
+                ContentUtil.digest((ByteBuffer) ByteBuffer.wrap(content).position(3)));
+    }
+
+    private static byte[] repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+
+        return out.toByteArray();
+    }
+}
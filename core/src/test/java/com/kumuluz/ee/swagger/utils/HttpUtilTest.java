@@ -0,0 +1,161 @@
+package com.kumuluz.ee.swagger.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HttpUtilTest class - tests content negotiation and conditional request handling.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class HttpUtilTest {
+
+    private static final long LAST_MODIFIED = 1445412480000L;
+
+    @Test
+    public void acceptsGzipCodings() {
+        Assert.assertTrue(HttpUtil.acceptsGzip("gzip"));
+        Assert.assertTrue(HttpUtil.acceptsGzip("deflate, GZIP;q=0.5"));
+        Assert.assertTrue(HttpUtil.acceptsGzip("x-gzip"));
+        Assert.assertFalse(HttpUtil.acceptsGzip("deflate, br"));
+        Assert.assertFalse(HttpUtil.acceptsGzip(null));
+    }
+
+    @Test
+    public void refusesGzipWithZeroQuality() {
+        Assert.assertFalse(HttpUtil.acceptsGzip("gzip;q=0"));
+        Assert.assertFalse(HttpUtil.acceptsGzip("gzip; q=0.0, deflate"));
+        Assert.assertFalse(HttpUtil.acceptsGzip("gzip;q=abc"));
+    }
+
+    @Test
+    public void explicitGzipTakesPrecedenceOverWildcard() {
+        Assert.assertTrue(HttpUtil.acceptsGzip("*"));
+        Assert.assertFalse(HttpUtil.acceptsGzip("*;q=0"));
+        Assert.assertFalse(HttpUtil.acceptsGzip("*, gzip;q=0"));
+        Assert.assertTrue(HttpUtil.acceptsGzip("*;q=0, gzip"));
+    }
+
+    @Test
+    public void qualityDefaultsToOne() {
+        Assert.assertEquals(1.0, HttpUtil.getQuality(new String[]{"gzip"}), 0);
+        Assert.assertEquals(0.5, HttpUtil.getQuality(new String[]{"gzip", " Q=0.5"}), 0);
+        Assert.assertEquals(0.0, HttpUtil.getQuality(new String[]{"gzip", "q=2"}), 0);
+    }
+
+    @Test
+    public void matchesETagInList() {
+        Assert.assertTrue(HttpUtil.matchesETag("\"v1\"", "\"v1\""));
+        Assert.assertTrue(HttpUtil.matchesETag("\"v0\", \"v1\"", "\"v1\""));
+        Assert.assertTrue(HttpUtil.matchesETag("*", "\"v1\""));
+        Assert.assertFalse(HttpUtil.matchesETag("\"v0\"", "\"v1\""));
+        Assert.assertFalse(HttpUtil.matchesETag("v1", "\"v1\""));
+    }
+
+    @Test
+    public void matchesWeakETags() {
+        // If-None-Match uses weak comparison
+        Assert.assertTrue(HttpUtil.matchesETag("W/\"v1\"", "\"v1\""));
+        Assert.assertTrue(HttpUtil.matchesETag("\"v0\", W/\"v1\"", "\"v1\""));
+    }
+
+    @Test
+    public void notModifiedByETag() {
+        Assert.assertTrue(HttpUtil.isNotModified(request("\"v1\"", null), "\"v1\"", -1));
+        Assert.assertFalse(HttpUtil.isNotModified(request("\"v0\"", null), "\"v1\"", -1));
+    }
+
+    @Test
+    public void eTagTakesPrecedenceOverModificationDate() {
+        Assert.assertFalse(HttpUtil.isNotModified(request("\"v0\"", LAST_MODIFIED), "\"v1\"", LAST_MODIFIED));
+        Assert.assertTrue(HttpUtil.isNotModified(request("\"v1\"", LAST_MODIFIED - 1000), "\"v1\"",
+                LAST_MODIFIED));
+    }
+
+    @Test
+    public void notModifiedSinceDate() {
+        Assert.assertTrue(HttpUtil.isNotModified(request(null, LAST_MODIFIED), "\"v1\"", LAST_MODIFIED));
+        Assert.assertTrue(HttpUtil.isNotModified(request(null, LAST_MODIFIED + 1000), "\"v1\"", LAST_MODIFIED));
+        Assert.assertFalse(HttpUtil.isNotModified(request(null, LAST_MODIFIED - 1000), "\"v1\"", LAST_MODIFIED));
+    }
+
+    @Test
+    public void modifiedWithoutConditionsOrKnownDate() {
+        Assert.assertFalse(HttpUtil.isNotModified(request(null, null), "\"v1\"", LAST_MODIFIED));
+        Assert.assertFalse(HttpUtil.isNotModified(request(null, LAST_MODIFIED), "\"v1\"", -1));
+    }
+
+    @Test
+    public void malformedModificationDateIsIgnored() {
+        Assert.assertFalse(HttpUtil.isNotModified(request(null, "yesterday"), "\"v1\"", LAST_MODIFIED));
+    }
+
+    @Test
+    public void parseRangeReturnsInclusiveBounds() {
+        Assert.assertArrayEquals(new long[]{0, 99}, HttpUtil.parseRange("bytes=0-99", 1000));
+        Assert.assertArrayEquals(new long[]{500, 999}, HttpUtil.parseRange("bytes=500-", 1000));
+        Assert.assertArrayEquals(new long[]{900, 999}, HttpUtil.parseRange("bytes=-100", 1000));
+    }
+
+    @Test
+    public void parseRangeClampsToLength() {
+        Assert.assertArrayEquals(new long[]{900, 999}, HttpUtil.parseRange("bytes=900-5000", 1000));
+        Assert.assertArrayEquals(new long[]{0, 999}, HttpUtil.parseRange("bytes=-5000", 1000));
+    }
+
+    @Test
+    public void parseRangeReportsUnsatisfiableRanges() {
+        Assert.assertArrayEquals(new long[0], HttpUtil.parseRange("bytes=1000-", 1000));
+        Assert.assertArrayEquals(new long[0], HttpUtil.parseRange("bytes=2000-3000", 1000));
+        Assert.assertArrayEquals(new long[0], HttpUtil.parseRange("bytes=-0", 1000));
+    }
+
+    @Test
+    public void parseRangeIgnoresMalformedAndMultipleRanges() {
+        Assert.assertNull(HttpUtil.parseRange("items=0-99", 1000));
+        Assert.assertNull(HttpUtil.parseRange("bytes=0-99,200-299", 1000));
+        Assert.assertNull(HttpUtil.parseRange("bytes=99", 1000));
+        Assert.assertNull(HttpUtil.parseRange("bytes=a-b", 1000));
+        Assert.assertNull(HttpUtil.parseRange("bytes=99-0", 1000));
+    }
+
+    @Test
+    public void rangeIsAppliedOnlyForCurrentEntityTag() {
+        Assert.assertTrue(HttpUtil.isRangeApplicable(null, "\"v1\""));
+        Assert.assertTrue(HttpUtil.isRangeApplicable(" \"v1\" ", "\"v1\""));
+        Assert.assertFalse(HttpUtil.isRangeApplicable("\"v0\"", "\"v1\""));
+        Assert.assertFalse(HttpUtil.isRangeApplicable("Wed, 21 Oct 2015 07:28:00 GMT", "\"v1\""));
+    }
+
+    /**
+     * Returns request with the given If-None-Match header and If-Modified-Since date, given in milliseconds or as
+     * a malformed value.
+     */
+    private static HttpServletRequest request(String ifNoneMatch, Object ifModifiedSince) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("If-None-Match", ifNoneMatch);
+        headers.put("If-Modified-Since", ifModifiedSince);
+
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpUtilTest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                    Object value = headers.get((String) args[0]);
+                    switch (method.getName()) {
+                        case "getHeader":
+                            return value == null ? null : value.toString();
+                        case "getDateHeader":
+                            if (value instanceof String) {
+                                throw new IllegalArgumentException((String) value);
+                            }
+                            return value == null ? -1L : value;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -9,10 +9,11 @@ import com.kumuluz.ee.common.utils.ResourceUtils;
 import com.kumuluz.ee.common.wrapper.KumuluzServerWrapper;
 import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
 import com.kumuluz.ee.jetty.JettyServletServer;
+import com.kumuluz.ee.swagger.servlets.ApiListingServlet;
 import com.kumuluz.ee.swagger.ui.filters.SwaggerUIFilter;
+import com.kumuluz.ee.swagger.ui.servlets.SwaggerUiAssetServlet;
 import io.swagger.annotations.SwaggerDefinition;
 import org.apache.commons.lang3.StringUtils;
-import org.eclipse.jetty.servlet.DefaultServlet;
 
 import javax.ws.rs.ApplicationPath;
 import javax.ws.rs.Encoded;
@@ -62,9 +63,16 @@ public class SwaggerUiExtension implements Extension {
             List<Application> applications = new ArrayList<>();
             ServiceLoader.load(Application.class).forEach(applications::add);
 
-            if (applications.size() == 1) {
+            if (!applications.isEmpty()) {
+                // with multiple JAX-RS applications, UI opens specification of the first one by default, others can
+                // be explored by their specification URL
                 Application application = applications.get(0);
 
+                if (applications.size() > 1) {
+                    LOG.info("Multiple JAX-RS applications found. Swagger UI will show specification of " +
+                            application.getClass().getName() + " by default.");
+                }
+
                 Class<?> applicationClass = application.getClass();
                 if (targetClassIsProxied(applicationClass)) {
                     applicationClass = applicationClass.getSuperclass();
@@ -128,10 +136,10 @@ public class SwaggerUiExtension implements Extension {
                 if (webApp != null && configurationUtil.getBoolean("kumuluzee.swagger.ui.enabled").orElse(true) && configurationUtil
                         .getBoolean("kumuluzee.swagger.enabled").orElse(true)) {
 
-                    swaggerUiParams.put("resourceBase", webApp.toString());
-                    server.registerServlet(DefaultServlet.class, "/api-specs/ui/*", swaggerUiParams, 1);
+                    String resourceBase = webApp.toString() + "/api-specs/ui";
 
                     Map<String, String> swaggerUiFilterParams = new HashMap<>();
+                    swaggerUiFilterParams.put("resourceBase", resourceBase);
 
                     if (applicationPath.length() != 0) {
                         swaggerUiFilterParams.put("url", serverUrl + servletPath + "/api-specs/" + applicationPath + "/swagger.json");
@@ -141,6 +149,13 @@ public class SwaggerUiExtension implements Extension {
 
                     swaggerUiFilterParams.put("oauth2RedirectUrl", serverUrl + servletPath + "/api-specs/ui/oauth2-redirect.html");
 
+                    // index page is rendered with the same configuration, see SwaggerUiAssetServlet
+                    swaggerUiParams.put("resourceBase", resourceBase);
+                    swaggerUiParams.put("url", swaggerUiFilterParams.get("url"));
+                    swaggerUiParams.put("oauth2RedirectUrl", swaggerUiFilterParams.get("oauth2RedirectUrl"));
+                    swaggerUiParams.put("specification", ApiListingServlet.getSpecificationKey(applicationPath));
+                    server.registerServlet(SwaggerUiAssetServlet.class, "/api-specs/ui/*", swaggerUiParams, 1);
+
                     swaggerUiFilterParams.put("servlet", servletPath);
 
                     server.registerFilter(SwaggerUIFilter.class, "/api-specs/ui/*", swaggerUiFilterParams);
@@ -0,0 +1,103 @@
+package com.kumuluz.ee.swagger.ui.assets;
+
+import com.kumuluz.ee.swagger.utils.ContentUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.regex.Pattern;
+
+/**
+ * UiAsset class - immutable Swagger UI static file held in memory, together with its strong entity tag and
+ * a pre-compressed gzip variant.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class UiAsset {
+
+    // file names carrying a content hash, e.g. swagger-ui.3f2a9c1d.js
+    private static final Pattern FINGERPRINTED = Pattern.compile("^.+[.-][0-9a-fA-F]{8,}\\.[^.]+$");
+
+    private final String name;
+    private final String contentType;
+    private final byte[] content;
+    private final byte[] gzipped;
+    private final String version;
+    private final String eTag;
+    private final String gzippedETag;
+    private final boolean fingerprinted;
+
+    public UiAsset(String name, String contentType, byte[] content) {
+        this.name = name;
+        this.contentType = contentType;
+        this.content = content;
+        this.gzipped = isCompressible(contentType) ? ContentUtil.gzip(content) : null;
+        this.version = ContentUtil.digest(content);
+        this.eTag = "\"" + version + "\"";
+        this.gzippedETag = "\"" + version + "-gzip\"";
+        this.fingerprinted = FINGERPRINTED.matcher(name.substring(name.lastIndexOf('/') + 1)).matches();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public int getContentLength() {
+        return content.length;
+    }
+
+    /**
+     * Returns the digest of the content, which can be used to reference a specific version of the asset.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getGzippedETag() {
+        return gzippedETag;
+    }
+
+    /**
+     * Returns length of the gzip compressed variant or -1, if compression does not reduce size of the asset.
+     */
+    public int getGzippedLength() {
+        return gzipped != null ? gzipped.length : -1;
+    }
+
+    /**
+     * Returns whether the file name contains a content hash, so the asset never changes under its name.
+     */
+    public boolean isFingerprinted() {
+        return fingerprinted;
+    }
+
+    byte[] toByteArray() {
+        return content.clone();
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(content);
+    }
+
+    public void writeTo(OutputStream out, int offset, int length) throws IOException {
+        out.write(content, offset, length);
+    }
+
+    public void writeGzippedTo(OutputStream out) throws IOException {
+        out.write(gzipped);
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/") || contentType.endsWith("javascript") || contentType.endsWith("json")
+                || contentType.endsWith("xml") || contentType.endsWith("+xml");
+    }
+
+}
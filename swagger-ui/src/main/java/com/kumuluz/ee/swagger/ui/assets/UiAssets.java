@@ -0,0 +1,184 @@
+package com.kumuluz.ee.swagger.ui.assets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * UiAssets class - Swagger UI distribution loaded into memory. Assets are read eagerly when the location of the
+ * distribution can be listed (directory or jar), otherwise each asset is read once, on first request. Distribution
+ * at the same location is loaded once and shared between the asset servlet and the UI filter.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class UiAssets {
+
+    private static final Logger LOG = Logger.getLogger(UiAssets.class.getName());
+
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+    private static final ConcurrentMap<String, UiAssets> INSTANCES = new ConcurrentHashMap<>();
+
+    static {
+        CONTENT_TYPES.put("html", "text/html; charset=utf-8");
+        CONTENT_TYPES.put("css", "text/css; charset=utf-8");
+        CONTENT_TYPES.put("js", "application/javascript; charset=utf-8");
+        CONTENT_TYPES.put("map", "application/json; charset=utf-8");
+        CONTENT_TYPES.put("json", "application/json; charset=utf-8");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("ico", "image/x-icon");
+    }
+
+    private final String base;
+    private final Function<String, String> mimeTypes;
+    private final ConcurrentMap<String, UiAsset> assets = new ConcurrentHashMap<>();
+    private boolean listed;
+
+    private UiAssets(String base, Function<String, String> mimeTypes) {
+        this.base = base.endsWith("/") ? base : base + "/";
+        this.mimeTypes = mimeTypes;
+    }
+
+    /**
+     * Returns assets located under the given base URL, loading them on first invocation.
+     *
+     * @param mimeTypes resolves content type from file name, for extensions not known to this class
+     */
+    public static UiAssets getInstance(String base, Function<String, String> mimeTypes) {
+        return INSTANCES.computeIfAbsent(base, b -> load(b, mimeTypes));
+    }
+
+    private static UiAssets load(String base, Function<String, String> mimeTypes) {
+        UiAssets uiAssets = new UiAssets(base, mimeTypes);
+
+        try {
+            uiAssets.preload(new URL(uiAssets.base));
+        } catch (IOException | URISyntaxException e) {
+            LOG.warning("Unable to list Swagger UI assets in " + base + ", assets will be loaded on first request: " +
+                    e.getMessage());
+        }
+
+        return uiAssets;
+    }
+
+    /**
+     * Returns asset with the given path, relative to the base URL, or null, if it does not exist.
+     */
+    public UiAsset get(String path) {
+        UiAsset asset = assets.get(path);
+
+        if (asset == null && isValidPath(path)) {
+            try (InputStream in = new URL(base + path).openStream()) {
+                asset = assets.computeIfAbsent(path, p -> create(p, in));
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        return asset;
+    }
+
+    /**
+     * Returns whether all assets were loaded upfront, so assets missing from {@link #getAssets()} do not exist.
+     */
+    public boolean isListed() {
+        return listed;
+    }
+
+    public Map<String, UiAsset> getAssets() {
+        return Collections.unmodifiableMap(assets);
+    }
+
+    private void preload(URL url) throws IOException, URISyntaxException {
+        if ("file".equals(url.getProtocol())) {
+            Path directory = Paths.get(url.toURI());
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    String path = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(),
+                            "/");
+                    try (InputStream in = Files.newInputStream(file)) {
+                        assets.put(path, create(path, in));
+                    }
+                }
+            }
+        } else if ("jar".equals(url.getProtocol())) {
+            URLConnection connection = url.openConnection();
+            // cached jar file is shared with the class loader and must not be closed
+            connection.setUseCaches(false);
+
+            JarURLConnection jarConnection = (JarURLConnection) connection;
+            String prefix = jarConnection.getEntryName() == null ? "" : jarConnection.getEntryName();
+
+            try (JarFile jarFile = jarConnection.getJarFile()) {
+                Enumeration<JarEntry> entries = jarFile.entries();
+
+                while (entries.hasMoreElements()) {
+                    JarEntry entry = entries.nextElement();
+
+                    if (!entry.isDirectory() && entry.getName().startsWith(prefix)) {
+                        String path = entry.getName().substring(prefix.length());
+                        try (InputStream in = jarFile.getInputStream(entry)) {
+                            assets.put(path, create(path, in));
+                        }
+                    }
+                }
+            }
+        } else {
+            throw new IOException("Unsupported protocol " + url.getProtocol() + ".");
+        }
+
+        listed = true;
+        LOG.fine("Loaded " + assets.size() + " Swagger UI assets.");
+    }
+
+    private UiAsset create(String path, InputStream in) {
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+
+            return new UiAsset(path, getContentType(path), content.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read Swagger UI asset " + path + ".", e);
+        }
+    }
+
+    private String getContentType(String path) {
+        String contentType = CONTENT_TYPES.get(path.substring(path.lastIndexOf('.') + 1).toLowerCase());
+
+        if (contentType == null) {
+            contentType = mimeTypes.apply(path);
+        }
+
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+
+    private static boolean isValidPath(String path) {
+        return !path.isEmpty() && !path.startsWith("/") && !path.contains("..") && !path.contains("\\")
+                && !path.contains(":");
+    }
+}
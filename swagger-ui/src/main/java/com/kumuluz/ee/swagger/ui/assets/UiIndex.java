@@ -0,0 +1,134 @@
+package com.kumuluz.ee.swagger.ui.assets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * UiIndex class - Swagger UI index page rendered with the API specification URL and OAuth2 redirect URL set in the
+ * Swagger UI configuration, so the page does not depend on query parameters. Page is rendered from our own template,
+ * which passes the configuration, injected as JSON, to Swagger UI, instead of the index page of the distribution.
+ * References to other assets are versioned, so they can be cached as immutable. The specification can optionally be
+ * inlined into the page.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class UiIndex {
+
+    public static final String INDEX = "index.html";
+
+    private static final String TEMPLATE = "/com/kumuluz/ee/swagger/ui/assets/index.html";
+    private static final String CONFIGURATION = "{{configuration}}";
+    private static final Pattern REFERENCE = Pattern.compile("((?:src|href)=\")\\./([^\"?#]+)\"");
+
+    private final String template;
+    private final String oauth2RedirectUrl;
+    private final UiAsset asset;
+
+    private UiIndex(String template, String url, String oauth2RedirectUrl) {
+        this.template = template;
+        this.oauth2RedirectUrl = oauth2RedirectUrl;
+        this.asset = create("\"url\":" + quote(url));
+    }
+
+    /**
+     * Renders the index page referencing the given assets, or returns null, if the template is missing.
+     */
+    public static UiIndex render(UiAssets assets, String url, String oauth2RedirectUrl) {
+        String html = readTemplate();
+
+        if (html == null) {
+            return null;
+        }
+
+        StringBuffer template = new StringBuffer(html.length() + 256);
+        Matcher matcher = REFERENCE.matcher(html);
+
+        while (matcher.find()) {
+            UiAsset reference = assets.get(matcher.group(2));
+            String version = reference != null ? "?v=" + reference.getVersion() : "";
+            matcher.appendReplacement(template, Matcher.quoteReplacement(matcher.group(1) + "./" +
+                    matcher.group(2) + version + "\""));
+        }
+        matcher.appendTail(template);
+
+        return new UiIndex(template.toString(), url, oauth2RedirectUrl);
+    }
+
+    /**
+     * Returns whether the index page can be rendered with the configuration set.
+     */
+    public static boolean isAvailable() {
+        return UiIndex.class.getResource(TEMPLATE) != null;
+    }
+
+    public UiAsset getAsset() {
+        return asset;
+    }
+
+    /**
+     * Renders the index page with the given specification in JSON format inlined, instead of its URL.
+     */
+    public UiAsset inline(String specification) {
+        // '<' only occurs in JSON strings, escaping it prevents the specification from closing the script element
+        String spec = specification.replace("<", "\\u003c")
+                .replace("\u2028", "\\u2028").replace("\u2029", "\\u2029");
+
+        return create("\"spec\":" + spec);
+    }
+
+    private UiAsset create(String source) {
+        String configuration = "{" + source + ",\"oauth2RedirectUrl\":" + quote(oauth2RedirectUrl) + "}";
+        String html = template.replace(CONFIGURATION, configuration);
+
+        return new UiAsset(INDEX, "text/html; charset=utf-8", html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readTemplate() {
+        try (InputStream in = UiIndex.class.getResourceAsStream(TEMPLATE)) {
+            if (in == null) {
+                return null;
+            }
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read Swagger UI index template.", e);
+        }
+    }
+
+    /**
+     * Returns the value as a JSON string, which can be embedded into a script element.
+     */
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c == '<') {
+                quoted.append("\\u003c");
+            } else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+
+        return quoted.append('"').toString();
+    }
+}
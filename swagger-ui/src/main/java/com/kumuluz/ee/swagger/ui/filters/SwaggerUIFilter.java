@@ -1,24 +1,63 @@
 package com.kumuluz.ee.swagger.ui.filters;
 
+import com.kumuluz.ee.swagger.ui.assets.UiAssets;
+import com.kumuluz.ee.swagger.ui.assets.UiIndex;
+
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.regex.Pattern;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * SwaggerUIFilter class.
+ * SwaggerUIFilter class - redirects requests for the Swagger UI index to the index configured with the API
+ * specification URL, unless the index is rendered with the configuration by the asset servlet. Requests are routed
+ * by their path within the UI using a table built at initialization.
  *
  * @author Zvone Gazvoda
  * @since 1.0.0
  */
 public class SwaggerUIFilter implements Filter {
 
-    private FilterConfig filterConfig;
+    private enum Route {
+        ASSET,
+        INDEX
+    }
+
+    private final Map<String, Route> routes = new HashMap<>();
+    private Route defaultRoute;
+    private boolean indexRendered;
+    private String redirectUrl;
 
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
-        this.filterConfig = filterConfig;
+        String url = filterConfig.getInitParameter("url");
+        String oauth2RedirectUrl = filterConfig.getInitParameter("oauth2RedirectUrl");
+        String servletPath = filterConfig.getInitParameter("servlet");
+        redirectUrl = servletPath + "/api-specs/ui/?url=" + url + "&" + "oauth2RedirectUrl=" + oauth2RedirectUrl;
+
+        // without a listing of the assets, requests for unknown paths are passed to the asset servlet
+        defaultRoute = Route.ASSET;
+
+        String resourceBase = filterConfig.getInitParameter("resourceBase");
+        if (resourceBase != null) {
+            UiAssets assets = UiAssets.getInstance(resourceBase, filterConfig.getServletContext()::getMimeType);
+
+            for (String path : assets.getAssets().keySet()) {
+                routes.put("/" + path, Route.ASSET);
+            }
+
+            if (assets.isListed()) {
+                defaultRoute = Route.INDEX;
+            }
+
+            indexRendered = UiIndex.isAvailable();
+        }
+
+        routes.put("", Route.INDEX);
+        routes.put("/", Route.INDEX);
+        routes.put("/index.html", Route.INDEX);
     }
 
     @Override
@@ -28,27 +67,37 @@ public class SwaggerUIFilter implements Filter {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
 
-        String path = httpServletRequest.getServletPath();
-
-        if (path.contains("/ui")) {
-            Pattern pattern = Pattern.compile("^(.*?)(css|js|url)(.*)$");
-            String request_query_string = (httpServletRequest.getQueryString() != null) ? httpServletRequest.getRequestURI() +
-                    httpServletRequest.getQueryString() : httpServletRequest.getRequestURI();
-            if ((pattern.matcher(request_query_string).find()) || httpServletRequest.getRequestURI().contains("oauth2-redirect.html")) {
-                filterChain.doFilter(httpServletRequest, httpServletResponse);
-            } else {
-                String url = filterConfig.getInitParameter("url");
-                String oauth2RedirectUrl = filterConfig.getInitParameter("oauth2RedirectUrl");
-                String servletPath = filterConfig.getInitParameter("servlet");
-                httpServletResponse.sendRedirect(servletPath + "/api-specs/ui/?url=" + url + "&" + "oauth2RedirectUrl=" +
-                        oauth2RedirectUrl);
-            }
+        String pathInfo = httpServletRequest.getPathInfo();
+        Route route = routes.getOrDefault(pathInfo == null ? "" : pathInfo, defaultRoute);
+
+        if (route == Route.INDEX && !indexRendered && !hasUrlParameter(httpServletRequest.getQueryString())) {
+            httpServletResponse.sendRedirect(redirectUrl);
         } else {
             filterChain.doFilter(servletRequest, servletResponse);
         }
     }
 
+    /**
+     * Checks for the url query parameter, without parsing the query string.
+     */
+    private static boolean hasUrlParameter(String queryString) {
+        if (queryString == null) {
+            return false;
+        }
+
+        int index = queryString.indexOf("url=");
+
+        while (index != -1) {
+            if (index == 0 || queryString.charAt(index - 1) == '&') {
+                return true;
+            }
+            index = queryString.indexOf("url=", index + 1);
+        }
+
+        return false;
+    }
+
     @Override
     public void destroy() {
     }
-}
\ No newline at end of file
+}
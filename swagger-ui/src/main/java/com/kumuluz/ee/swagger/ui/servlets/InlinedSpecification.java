@@ -0,0 +1,88 @@
+package com.kumuluz.ee.swagger.ui.servlets;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.kumuluz.ee.swagger.cache.RenderedSpecification;
+import com.kumuluz.ee.swagger.cache.SpecificationCache;
+import com.kumuluz.ee.swagger.cache.SpecificationContent;
+import com.kumuluz.ee.swagger.cache.SpecificationFormat;
+import com.kumuluz.ee.swagger.ui.assets.UiAsset;
+import com.kumuluz.ee.swagger.ui.assets.UiIndex;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * InlinedSpecification class - renders Swagger UI index page with the cached API specification inlined, while the
+ * specification does not exceed the configured size. Index page is rendered again when the specification is
+ * replaced in the cache.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+final class InlinedSpecification {
+
+    private static final class Rendered {
+
+        private final RenderedSpecification specification;
+        private final UiAsset index;
+
+        private Rendered(RenderedSpecification specification, UiAsset index) {
+            this.specification = specification;
+            this.index = index;
+        }
+    }
+
+    private final UiIndex index;
+    private final String key;
+    private final int maximumSize;
+    private volatile Rendered rendered;
+
+    InlinedSpecification(UiIndex index, String key, int maximumSize) {
+        this.index = index;
+        this.key = key;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns index page with the specification inlined, or null, if the specification is not available yet, is
+     * not rendered upfront or is too large to be inlined.
+     */
+    UiAsset getIndex() throws IOException {
+        CompletableFuture<RenderedSpecification> future = SpecificationCache.getInstance().get(key);
+
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+
+        RenderedSpecification specification = future.join();
+        Rendered current = rendered;
+
+        if (current == null || current.specification != specification) {
+            current = new Rendered(specification, render(specification));
+            rendered = current;
+        }
+
+        return current.index;
+    }
+
+    private UiAsset render(RenderedSpecification specification) throws IOException {
+        SpecificationContent content;
+
+        try {
+            content = specification.getContent(SpecificationFormat.JSON, false);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+
+        if (content == null || content.getContentLength() > maximumSize) {
+            return null;
+        }
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream(content.getContentLength());
+        content.writeTo(json);
+
+        return index.inline(new String(json.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
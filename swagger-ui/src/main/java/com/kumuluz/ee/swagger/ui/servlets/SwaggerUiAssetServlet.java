@@ -0,0 +1,162 @@
+package com.kumuluz.ee.swagger.ui.servlets;
+
+import com.kumuluz.ee.configuration.utils.ConfigurationUtil;
+import com.kumuluz.ee.swagger.utils.HttpUtil;
+import com.kumuluz.ee.swagger.ui.assets.UiAsset;
+import com.kumuluz.ee.swagger.ui.assets.UiAssets;
+import com.kumuluz.ee.swagger.ui.assets.UiIndex;
+import io.swagger.config.FilterFactory;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * SwaggerUiAssetServlet class - serves Swagger UI static files from memory with precomputed entity tags,
+ * pre-compressed gzip variants and byte range support. Index page is rendered with the API specification URL at
+ * initialization.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class SwaggerUiAssetServlet extends HttpServlet {
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private UiAssets assets;
+    private UiIndex index;
+    private InlinedSpecification inlinedSpecification;
+    private String cacheControl;
+    private boolean compression;
+
+    @Override
+    public void init() throws ServletException {
+        String resourceBase = getInitParameter("resourceBase");
+
+        if (resourceBase == null) {
+            throw new ServletException("Swagger UI asset servlet requires the resourceBase parameter.");
+        }
+
+        assets = UiAssets.getInstance(resourceBase, getServletContext()::getMimeType);
+
+        ConfigurationUtil configurationUtil = ConfigurationUtil.getInstance();
+        cacheControl = configurationUtil.get("kumuluzee.swagger.ui.cache-control").orElse("no-cache");
+        compression = configurationUtil.getBoolean("kumuluzee.swagger.ui.compression.enabled").orElse(true);
+
+        String url = getInitParameter("url");
+        if (url != null) {
+            index = UiIndex.render(assets, url, getInitParameter("oauth2RedirectUrl"));
+        }
+
+        int inlineMaximumSize = configurationUtil.getInteger("kumuluzee.swagger.ui.inline-spec.max-size").orElse(0);
+        String specification = getInitParameter("specification");
+
+        // filtered specification depends on the request and must not be inlined into the shared index page
+        if (index != null && inlineMaximumSize > 0 && specification != null && !isSpecificationFiltered()) {
+            inlinedSpecification = new InlinedSpecification(index, specification, inlineMaximumSize);
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String pathInfo = request.getPathInfo();
+
+        if (pathInfo == null) {
+            // relative asset references in index.html require the trailing slash
+            String query = request.getQueryString();
+            response.sendRedirect(request.getRequestURI() + "/" + (query != null ? "?" + query : ""));
+            return;
+        }
+
+        String path = pathInfo.substring(1);
+        if (path.isEmpty() || path.endsWith("/")) {
+            path = path + UiIndex.INDEX;
+        }
+
+        UiAsset asset = null;
+        if (index != null && UiIndex.INDEX.equals(path)) {
+            asset = inlinedSpecification != null ? inlinedSpecification.getIndex() : null;
+            if (asset == null) {
+                asset = index.getAsset();
+            }
+        } else {
+            asset = assets.get(path);
+        }
+
+        if (asset == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // asset referenced by its version never changes under the requested URL
+        boolean immutable = asset.isFingerprinted() || asset.getVersion().equals(request.getParameter("v"));
+        response.setHeader("Cache-Control", immutable ? IMMUTABLE_CACHE_CONTROL : cacheControl);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        boolean gzip = false;
+        if (compression && asset.getGzippedLength() != -1) {
+            response.addHeader("Vary", "Accept-Encoding");
+            gzip = HttpUtil.acceptsGzip(request.getHeader("Accept-Encoding"));
+        }
+
+        String range = request.getHeader("Range");
+        if (range != null && !HttpUtil.isRangeApplicable(request.getHeader("If-Range"), asset.getETag())) {
+            range = null;
+        }
+
+        // ranges are served from the identity encoding only
+        String eTag = gzip && range == null ? asset.getGzippedETag() : asset.getETag();
+        response.setHeader("ETag", eTag);
+
+        // modification dates are not tracked for assets
+        if (HttpUtil.isNotModified(request, eTag, -1)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(asset.getContentType());
+
+        if (range != null) {
+            long[] bounds = HttpUtil.parseRange(range, asset.getContentLength());
+
+            if (bounds == null) {
+                // malformed or multiple ranges, whole asset is served instead
+                serveWhole(response, asset, false);
+            } else if (bounds.length == 0) {
+                response.setHeader("Content-Range", "bytes */" + asset.getContentLength());
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            } else {
+                int offset = (int) bounds[0];
+                int length = (int) (bounds[1] - bounds[0] + 1);
+
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + bounds[0] + "-" + bounds[1] + "/" +
+                        asset.getContentLength());
+                response.setContentLength(length);
+                asset.writeTo(response.getOutputStream(), offset, length);
+            }
+        } else {
+            serveWhole(response, asset, gzip);
+        }
+    }
+
+    private static boolean isSpecificationFiltered() {
+        return ConfigurationUtil.getInstance().get("kumuluzee.swagger.filter.class").isPresent() ||
+                FilterFactory.getFilter() != null;
+    }
+
+    private static void serveWhole(HttpServletResponse response, UiAsset asset, boolean gzip) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+            response.setContentLength(asset.getGzippedLength());
+            asset.writeGzippedTo(response.getOutputStream());
+        } else {
+            response.setContentLength(asset.getContentLength());
+            asset.writeTo(response.getOutputStream());
+        }
+    }
+}